@@ -0,0 +1,74 @@
+// Latencia de cola con timeouts estáticos vs adaptativos contra el mock de backendDevTest.
+//
+// Se ejecuta dos veces, una por modo, con la aplicación arrancada en cada caso:
+//
+//   java -jar target/similarproducts-0.0.1-SNAPSHOT.jar \
+//        --simulado.timeouts.endpoints.similarids.mode=static \
+//        --simulado.timeouts.endpoints.product.mode=static
+//   k6 run -e MODE=static scripts/k6/adaptive-timeouts.js
+//
+//   java -jar target/similarproducts-0.0.1-SNAPSHOT.jar \
+//        --simulado.timeouts.endpoints.similarids.mode=adaptive \
+//        --simulado.timeouts.endpoints.product.mode=adaptive
+//   k6 run -e MODE=adaptive scripts/k6/adaptive-timeouts.js
+//
+// setup() deja la caché de listas a cero para que cada petición llegue al mock y guarda el tamaño
+// que tenía; teardown() lo restaura y devuelve la política de timeouts en vigor para anotarla junto
+// a los percentiles.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:5000';
+// actuator escucha en el puerto de gestión (management.server.port)
+const MANAGEMENT_URL = __ENV.MANAGEMENT_URL || 'http://localhost:8081';
+const MODE = __ENV.MODE || 'adaptive';
+const PRODUCT_IDS = ['1', '2', '3', '4', '5'];
+
+export const options = {
+    scenarios: {
+        // llena la ventana de latencias antes de medir
+        warmup: {
+            executor: 'constant-arrival-rate',
+            rate: 20, timeUnit: '1s', duration: '30s',
+            preAllocatedVUs: 50, maxVUs: 200,
+            tags: { phase: 'warmup' },
+        },
+        measure: {
+            executor: 'constant-arrival-rate',
+            rate: 50, timeUnit: '1s', duration: '2m', startTime: '30s',
+            preAllocatedVUs: 100, maxVUs: 600,
+            tags: { phase: 'measure' },
+        },
+    },
+    summaryTrendStats: ['avg', 'med', 'p(90)', 'p(95)', 'p(99)', 'max'],
+    // sin umbral real: solo para que el resumen muestre los percentiles de la fase de medida
+    thresholds: {
+        [`http_req_duration{phase:measure,mode:${MODE}}`]: ['p(99)>=0'],
+    },
+};
+
+const CACHE_POLICY_URL = `${MANAGEMENT_URL}/actuator/cachepolicy/productDetail`;
+
+function setMaximumWeight(maximumWeight) {
+    return http.post(CACHE_POLICY_URL, JSON.stringify({ maximumWeight }),
+        { headers: { 'Content-Type': 'application/json' } });
+}
+
+export function setup() {
+    const previous = http.get(CACHE_POLICY_URL).json('maximumWeight');
+    setMaximumWeight(0);
+    return { maximumWeight: previous };
+}
+
+export default function () {
+    const id = PRODUCT_IDS[Math.floor(Math.random() * PRODUCT_IDS.length)];
+    const res = http.get(`${BASE_URL}/product/${id}/similar`, { tags: { mode: MODE, name: 'similar' } });
+    check(res, { 'status is 200': (r) => r.status === 200 });
+}
+
+export function teardown(data) {
+    if (data.maximumWeight !== null && data.maximumWeight !== undefined) {
+        setMaximumWeight(data.maximumWeight);
+    }
+    console.log(`timeouts (${MODE}): ${http.get(`${MANAGEMENT_URL}/actuator/timeouts`).body}`);
+}
@@ -0,0 +1,106 @@
+#!/usr/bin/env bash
+# Tiempo hasta la primera respuesta correcta de /product/{id}/similar para cada modo de arranque:
+# jvm, aot, cds (AOT + AppCDS) y native. Necesita el mock de backendDevTest levantado (SIMULADO_URL).
+#
+#   ./scripts/startup-benchmark.sh                       # compila y mide todos los modos disponibles
+#   SKIP_BUILD=1 RUNS=5 ./scripts/startup-benchmark.sh jvm cds
+#   URL=http://localhost:5098/actuator/health ./scripts/startup-benchmark.sh   # solo arranque, sin mock
+#
+# Las ejecuciones que no responden en TIMEOUT_S no entran en la media; un modo sin ninguna correcta sale como FAILED.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+PORT=${PORT:-5099}
+MANAGEMENT_PORT=${MANAGEMENT_PORT:-5098}
+SIMULADO_URL=${SIMULADO_URL:-http://localhost:3001}
+URL=${URL:-http://localhost:${PORT}/product/1/similar}
+RUNS=${RUNS:-3}
+TIMEOUT_S=${TIMEOUT_S:-60}
+JAR=target/similarproducts-0.0.1-SNAPSHOT.jar
+CDS_DIR=target/application
+NATIVE=target/similar-products
+MVN=${MVN:-mvn}
+
+MODES=("$@")
+if [ ${#MODES[@]} -eq 0 ]; then
+  MODES=(jvm aot cds native)
+fi
+
+if [[ "$URL" == */similar ]] && ! curl -sf -o /dev/null "$SIMULADO_URL/product/1/similarids"; then
+  echo "Mock not reachable at $SIMULADO_URL: start it or set SIMULADO_URL (or URL for a health-only run)" >&2
+  exit 1
+fi
+
+if [ -z "${SKIP_BUILD:-}" ]; then
+  $MVN -q -Paot,cds package -DskipTests
+  if [[ " ${MODES[*]} " == *" native "* ]] && command -v native-image >/dev/null; then
+    $MVN -q -Pnative native:compile -DskipTests
+  fi
+fi
+
+command_for() {
+  case "$1" in
+    jvm)    echo "java -jar $JAR --server.port=$PORT --management.server.port=$MANAGEMENT_PORT --simulado.base-url=$SIMULADO_URL" ;;
+    aot)    echo "java -Dspring.aot.enabled=true -jar $JAR --server.port=$PORT --management.server.port=$MANAGEMENT_PORT --simulado.base-url=$SIMULADO_URL" ;;
+    cds)    echo "java -XX:SharedArchiveFile=$CDS_DIR/application.jsa -Dspring.aot.enabled=true -jar $CDS_DIR/$(basename $JAR) --server.port=$PORT --management.server.port=$MANAGEMENT_PORT --simulado.base-url=$SIMULADO_URL" ;;
+    native) echo "$NATIVE --server.port=$PORT --management.server.port=$MANAGEMENT_PORT --simulado.base-url=$SIMULADO_URL" ;;
+  esac
+}
+
+available() {
+  case "$1" in
+    jvm|aot) [ -f "$JAR" ] ;;
+    cds)     [ -f "$CDS_DIR/application.jsa" ] ;;
+    native)  [ -x "$NATIVE" ] ;;
+    *)       return 1 ;;
+  esac
+}
+
+now_ms() { date +%s%3N; }
+
+measure() {
+  local cmd=$1 start pid elapsed
+  start=$(now_ms)
+  $cmd > /dev/null 2>&1 &
+  pid=$!
+  while ! curl -sf -o /dev/null "$URL"; do
+    if ! kill -0 "$pid" 2>/dev/null || [ $(( $(now_ms) - start )) -gt $(( TIMEOUT_S * 1000 )) ]; then
+      kill "$pid" 2>/dev/null || true
+      wait "$pid" 2>/dev/null || true
+      echo "-1"
+      return
+    fi
+    sleep 0.01
+  done
+  elapsed=$(( $(now_ms) - start ))
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  echo "$elapsed"
+}
+
+printf "%-8s %s\n" "mode" "time-to-first-response (ms) over $RUNS runs -> avg"
+for mode in "${MODES[@]}"; do
+  if ! available "$mode"; then
+    printf "%-8s %s\n" "$mode" "skipped (artifact not built)"
+    continue
+  fi
+  total=0
+  ok=0
+  samples=()
+  for _ in $(seq "$RUNS"); do
+    ms=$(measure "$(command_for "$mode")")
+    if [ "$ms" -lt 0 ]; then
+      samples+=("fail")
+      continue
+    fi
+    samples+=("$ms")
+    total=$(( total + ms ))
+    ok=$(( ok + 1 ))
+  done
+  if [ "$ok" -eq 0 ]; then
+    printf "%-8s %s -> FAILED\n" "$mode" "${samples[*]}"
+  else
+    printf "%-8s %s -> %d (%d/%d ok)\n" "$mode" "${samples[*]}" $(( total / ok )) "$ok" "$RUNS"
+  fi
+done
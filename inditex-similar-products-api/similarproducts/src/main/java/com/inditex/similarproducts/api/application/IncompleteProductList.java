@@ -0,0 +1,31 @@
+package com.inditex.similarproducts.api.application;
+
+import com.inditex.similarproducts.api.domain.Product;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Lista de similares a la que le faltan productos porque su detalle agotó el timeout. Se sirve tal
+ * cual, pero no se cachea: guardarla dejaría la lista recortada hasta que caduque. Tampoco en otro pod:
+ * el dueño la marca al responder y quien la recibe no guarda copia caliente.
+ */
+public final class IncompleteProductList extends AbstractList<Product> implements RandomAccess {
+
+    private final List<Product> products;
+
+    public IncompleteProductList(List<Product> products) {
+        this.products = List.copyOf(products);
+    }
+
+    @Override
+    public Product get(int index) {
+        return products.get(index);
+    }
+
+    @Override
+    public int size() {
+        return products.size();
+    }
+}
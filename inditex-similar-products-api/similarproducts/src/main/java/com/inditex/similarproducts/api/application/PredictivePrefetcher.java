@@ -0,0 +1,191 @@
+package com.inditex.similarproducts.api.application;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.inditex.similarproducts.api.domain.Product;
+import com.inditex.similarproducts.api.infrastructure.cache.ProductCacheLookup;
+import com.inditex.similarproducts.api.infrastructure.config.PrefetchProperties;
+import com.inditex.similarproducts.api.infrastructure.web.CoDelAdmissionLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Precarga predictiva: tras servir X, carga en segundo plano las listas de sus primeros similares,
+ * que es lo que el usuario suele abrir a continuación.
+ *
+ * Solo se precarga con capacidad libre (hueco propio y limitador de admisión poco ocupado) y nunca
+ * algo que ya esté en caché o en curso. Cada precarga ocupa un permiso del limitador mientras dura,
+ * sin esperar en cola: si no hay uno libre se descarta. Cada producto precargado se vigila durante
+ * {@code hitWindow}: si llega una petición es un acierto, si caduca antes es una precarga inútil.
+ */
+@Service
+@Slf4j
+public class PredictivePrefetcher {
+
+    private final SimilarProductsService similarProductsService;
+    private final ProductCacheLookup productCacheLookup;
+    private final CoDelAdmissionLimiter admissionLimiter;
+    private final PrefetchProperties properties;
+
+    private final Semaphore slots;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final Cache<String, Boolean> prefetched;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("prefetch-", 0).factory());
+
+    private final MeterRegistry meterRegistry;
+    private final Counter hits;
+    private final Counter unused;
+
+    public PredictivePrefetcher(SimilarProductsService similarProductsService,
+                                ProductCacheLookup productCacheLookup,
+                                CoDelAdmissionLimiter admissionLimiter,
+                                PrefetchProperties properties,
+                                MeterRegistry meterRegistry) {
+        this.similarProductsService = similarProductsService;
+        this.productCacheLookup = productCacheLookup;
+        this.admissionLimiter = admissionLimiter;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.slots = new Semaphore(properties.getMaxInFlight());
+
+        this.hits = Counter.builder("similar.prefetch.outcome").tag("result", "hit")
+                           .description("Prefetched lists later requested within the hit window")
+                           .register(meterRegistry);
+        this.unused = Counter.builder("similar.prefetch.outcome").tag("result", "unused")
+                             .description("Prefetched lists never requested within the hit window")
+                             .register(meterRegistry);
+        this.prefetched = Caffeine.newBuilder()
+                .maximumSize(properties.getTrackedMaxItems())
+                .expireAfterWrite(properties.getHitWindow())
+                .<String, Boolean>removalListener((productId, value, cause) -> {
+                    if (cause != RemovalCause.EXPLICIT && cause != RemovalCause.REPLACED) {
+                        unused.increment();
+                    }
+                })
+                .build();
+        Gauge.builder("similar.prefetch.hit.ratio", this, PredictivePrefetcher::hitRatio)
+             .description("Share of finished prefetches that were requested afterwards")
+             .register(meterRegistry);
+    }
+
+    /**
+     * Se llama al empezar a servir un producto: si estaba precargado cuenta como acierto.
+     */
+    public void onRequested(String productId) {
+        if (properties.isEnabled() && prefetched.asMap().remove(productId) != null) {
+            hits.increment();
+        }
+    }
+
+    /**
+     * Se llama tras servir un producto: programa la precarga de sus primeros similares.
+     */
+    public void onServed(List<Product> products) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        products.stream()
+                .limit(properties.getTopK())
+                .map(Product::id)
+                .forEach(this::schedule);
+    }
+
+    private void schedule(String productId) {
+        if (productCacheLookup.contains(productId)) {
+            skip("cached");
+            return;
+        }
+        if (!inFlight.add(productId)) {
+            skip("in_flight");
+            return;
+        }
+        if (!hasSpareCapacity()) {
+            inFlight.remove(productId);
+            skip("capacity");
+            return;
+        }
+        if (!slots.tryAcquire()) {
+            inFlight.remove(productId);
+            skip("busy");
+            return;
+        }
+        // la precarga también consume un permiso de admisión: el limitador ve toda la concurrencia real
+        if (!admissionLimiter.tryAcquireIfIdle()) {
+            slots.release();
+            inFlight.remove(productId);
+            skip("capacity");
+            return;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    similarProductsService.getSimilarProducts(productId);
+                    prefetched.put(productId, Boolean.TRUE);
+                    count("similar.prefetch.completed");
+                } catch (RuntimeException e) {
+                    count("similar.prefetch.failed");
+                    log.debug("Prefetch of {} failed: {}", productId, e.getMessage());
+                } finally {
+                    release(productId);
+                }
+            });
+            count("similar.prefetch.scheduled");
+        } catch (RejectedExecutionException e) {
+            // la aplicación se está parando
+            release(productId);
+            skip("shutdown");
+        }
+    }
+
+    /**
+     * Al parar se interrumpen las precargas en curso: nadie va a esperar su resultado.
+     */
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void release(String productId) {
+        admissionLimiter.release();
+        inFlight.remove(productId);
+        slots.release();
+    }
+
+    /**
+     * La ocupación se mide sin las precargas en curso, que ya tienen su propio tope (maxInFlight).
+     */
+    private boolean hasSpareCapacity() {
+        int prefetching = properties.getMaxInFlight() - slots.availablePermits();
+        int foreground = admissionLimiter.inFlight() - prefetching;
+        return !admissionLimiter.isOverloaded()
+                && foreground < admissionLimiter.maxConcurrency() * properties.getMaxAdmissionUtilization();
+    }
+
+    private double hitRatio() {
+        double finished = hits.count() + unused.count();
+        return finished == 0 ? 0 : hits.count() / finished;
+    }
+
+    private void skip(String reason) {
+        meterRegistry.counter("similar.prefetch.skipped", "reason", reason).increment();
+    }
+
+    private void count(String name) {
+        meterRegistry.counter(name).increment();
+    }
+}
@@ -0,0 +1,85 @@
+package com.inditex.similarproducts.api.application;
+
+import com.inditex.similarproducts.api.domain.Product;
+import com.inditex.similarproducts.api.domain.ProductChangedEvent;
+import com.inditex.similarproducts.api.infrastructure.cache.ProductCacheLookup;
+import com.inditex.similarproducts.api.infrastructure.cache.ProductListIndex;
+import com.inditex.similarproducts.api.infrastructure.cache.ProductTable;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Aplica los {@link ProductChangedEvent} sobre la caché de productos similares.
+ *
+ * Si el evento trae los datos nuevos se parchea el producto en la {@link ProductTable} y todas las
+ * listas que lo contienen los ven al momento. Si no (o si el producto se ha borrado) se expulsan
+ * solo las listas afectadas, localizadas con el {@link ProductListIndex}. En ambos casos el producto
+ * se marca como invalidado para que las cargas que ya estaban en curso no guarden datos anteriores.
+ *
+ * Los eventos llegan como eventos de aplicación: el endpoint HTTP los publica en proceso y cualquier
+ * otro adaptador (p. ej. un consumidor de mensajería) solo tiene que publicar el mismo evento.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductInvalidationService {
+
+    private final ProductTable productTable;
+    private final ProductListIndex productListIndex;
+    private final CacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
+
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        String productId = event.productId();
+        // antes de tocar nada: las cargas en curso que lo contengan ya no se guardarán
+        productTable.invalidate(productId);
+
+        if (event.type() == ProductChangedEvent.ChangeType.UPDATED && event.hasProductData()) {
+            Optional<Product> current = productTable.find(productId);
+            if (current.isPresent()) {
+                productTable.update(merge(current.get(), event));
+                count("patched");
+                log.debug("Patched cached product {}", productId);
+            } else {
+                count("ignored");
+            }
+            return;
+        }
+
+        Cache cache = cacheManager.getCache(ProductCacheLookup.PRODUCT_DETAIL);
+        if (cache == null) {
+            return;
+        }
+
+        Set<Object> affected = productListIndex.listsContaining(productId);
+        affected.forEach(cache::evict);
+        if (event.type() == ProductChangedEvent.ChangeType.DELETED) {
+            cache.evict(productId);
+        }
+
+        meterRegistry.counter("similar.invalidation.evicted.lists").increment(affected.size());
+        count("evicted");
+        log.debug("Evicted {} cached lists containing product {}", affected.size(), productId);
+    }
+
+    private void count(String action) {
+        meterRegistry.counter("similar.invalidation.events", "action", action).increment();
+    }
+
+    private static Product merge(Product current, ProductChangedEvent event) {
+        return new Product(
+                current.id(),
+                event.name() != null ? event.name() : current.name(),
+                event.price() != null ? event.price() : current.price(),
+                event.availability() != null ? event.availability() : current.availability());
+    }
+}
@@ -1,16 +1,30 @@
 package com.inditex.similarproducts.api.application;
 
+import com.inditex.similarproducts.api.domain.DownstreamTimeoutException;
 import com.inditex.similarproducts.api.domain.ExternalServiceException;
 import com.inditex.similarproducts.api.domain.Product;
 import com.inditex.similarproducts.api.domain.ProductNotFoundException;
+import com.inditex.similarproducts.api.infrastructure.cache.ProductCacheLookup;
 import com.inditex.similarproducts.api.infrastructure.client.SimulatedProductClient;
+import com.inditex.similarproducts.api.infrastructure.config.FetchProperties;
+import com.inditex.similarproducts.api.infrastructure.web.RequestTimings;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 @Service
 @RequiredArgsConstructor
@@ -18,25 +32,165 @@ import java.util.Objects;
 public class SimilarProductsService {
 
     private final SimulatedProductClient simulatedProductClient;
+    private final ObservationRegistry observationRegistry;
+    private final ProductCacheLookup productCacheLookup;
+    private final FetchProperties fetchProperties;
 
-    @Cacheable(cacheNames = "productDetail", key = "#productId")
+    private final ExecutorService lazyFetchExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Lista completa de similares. Si algún detalle agota el timeout se devuelve sin él como
+     * {@link IncompleteProductList}, que no se cachea.
+     */
+    @Cacheable(cacheNames = "productDetail", key = "#productId",
+               unless = "#result instanceof T(com.inditex.similarproducts.api.application.IncompleteProductList)")
     public List<Product> getSimilarProducts(String productId) {
+        List<String> ids = loadSimilarProductIds(productId);
+
+        Observation fanout = fanoutObservation(productId, ids.size());
+        FanoutStats stats = new FanoutStats();
+        long fanoutStart = System.nanoTime();
+
+        // los hilos del parallelStream no heredan la observación: se abre su scope en cada uno
+        List<Product> products = fanout.observe(() -> ids.parallelStream()
+                  .map(id -> fanout.scoped(() -> loadProductDetail(productId, id, stats)))
+                  .filter(Objects::nonNull)
+                  .toList());
+
+        recordFanout(fanoutStart, stats);
+        return stats.timedOut ? new IncompleteProductList(products) : products;
+    }
+
+    /**
+     * Página [offset, offset + limit) de similares. Se consulta la caché como lo haría {@code @Cacheable}
+     * (en modo distribuido, también al pod dueño) y, si está la lista completa, se recorta. Si no, se piden
+     * detalles en orden de similitud solo hasta tener offset + limit válidos (más un margen especulativo)
+     * y se cancelan las peticiones que sobran. Solo se cachea si la página ha obligado a cargarlos todos
+     * y ninguno ha agotado el timeout.
+     */
+    public List<Product> getSimilarProducts(String productId, int offset, int limit) {
+        Optional<List<Product>> cached = productCacheLookup.get(productId);
+        if (cached.isPresent()) {
+            return page(cached.get(), offset, limit);
+        }
+
+        List<String> ids = loadSimilarProductIds(productId);
+        int needed = (int) Math.min((long) offset + limit, ids.size());
+
+        Observation fanout = fanoutObservation(productId, ids.size());
+        FanoutStats stats = new FanoutStats();
+        long fanoutStart = System.nanoTime();
+
+        int[] joined = new int[1];
+        List<Product> products = fanout.observe(() -> {
+            List<Future<Product>> fetches = new ArrayList<>();
+            int next = Math.min(ids.size(), needed + fetchProperties.getSpeculativeMargin());
+            ids.subList(0, next).forEach(id -> fetches.add(fetchAsync(productId, id, fanout, stats)));
+
+            List<Product> valid = new ArrayList<>(needed);
+            try {
+                for (int i = 0; i < fetches.size() && valid.size() < needed; i++) {
+                    Product product = await(fetches.get(i));
+                    joined[0]++;
+                    if (product != null) {
+                        valid.add(product);
+                    } else if (next < ids.size()) {
+                        // cada hueco (404/5xx) lanza el siguiente id pendiente
+                        fetches.add(fetchAsync(productId, ids.get(next++), fanout, stats));
+                    }
+                }
+            } finally {
+                // la página ya está completa: el margen especulativo que siga en vuelo no hace falta
+                fetches.forEach(fetch -> fetch.cancel(true));
+            }
+            return valid;
+        });
+
+        recordFanout(fanoutStart, stats);
+        if (joined[0] == ids.size() && !stats.timedOut) {
+            // se han resuelto todos los ids: es la misma lista que cargaría getSimilarProducts(productId)
+            productCacheLookup.put(productId, products);
+        }
+        return page(products, offset, limit);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        lazyFetchExecutor.shutdownNow();
+    }
+
+    private List<String> loadSimilarProductIds(String productId) {
+        long idsStart = System.nanoTime();
         List<String> ids = simulatedProductClient.loadSimilarProductIds(productId)
                                                  .stream()
                                                  .distinct()
                                                  .toList();
+        RequestTimings.record("ids", System.nanoTime() - idsStart);
+        return ids;
+    }
+
+    private Observation fanoutObservation(String productId, int size) {
+        return Observation.createNotStarted("similar.fanout", observationRegistry)
+                          .highCardinalityKeyValue("product.id", productId)
+                          .highCardinalityKeyValue("fanout.size", String.valueOf(size));
+    }
+
+    private Future<Product> fetchAsync(String productId, String id, Observation fanout, FanoutStats stats) {
+        return lazyFetchExecutor.submit(() -> fanout.scoped(() -> loadProductDetail(productId, id, stats)));
+    }
+
+    private static Product await(Future<Product> fetch) {
+        try {
+            return fetch.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        } catch (ExecutionException e) {
+            throw new CompletionException(e.getCause());
+        }
+    }
+
+    private Product loadProductDetail(String productId, String id, FanoutStats stats) {
+        long start = System.nanoTime();
+        try {return simulatedProductClient.loadProductDetailForId(id);}
+        catch (ProductNotFoundException | ExternalServiceException e)
+            {
+                if (Thread.currentThread().isInterrupted()) {
+                    // cancelada porque la página ya estaba completa
+                    return null;
+                }
+                if (e instanceof DownstreamTimeoutException) {
+                    stats.timedOut = true;
+                }
+                log.warn("Skipping similar product {} for base {}: {}", id, productId, e.getMessage());
+                return null;
+            }
+        finally {stats.update(id, System.nanoTime() - start);}
+    }
 
-        return ids.parallelStream()
-                  .map(id -> {
-                    try {return simulatedProductClient.loadProductDetailForId(id);}
-                    catch (ProductNotFoundException | ExternalServiceException e)
-                        {
-                            log.warn("Skipping similar product {} for base {}: {}", id, productId, e.getMessage());
-                            return null;
-                        }
-                    })
-                .filter(Objects::nonNull)
-                .toList();
+    private static void recordFanout(long fanoutStart, FanoutStats stats) {
+        RequestTimings.record("fanout", System.nanoTime() - fanoutStart);
+        if (stats.slowestId != null) {
+            RequestTimings.record("slowest", stats.slowestNanos, stats.slowestId);
+        }
     }
 
+    private static List<Product> page(List<Product> products, int offset, int limit) {
+        int from = Math.min(offset, products.size());
+        int to = (int) Math.min((long) from + limit, products.size());
+        return List.copyOf(products.subList(from, to));
+    }
+
+    private static final class FanoutStats {
+        private String slowestId;
+        private long slowestNanos = -1;
+        private volatile boolean timedOut;
+
+        synchronized void update(String id, long nanos) {
+            if (nanos > slowestNanos) {
+                slowestId = id;
+                slowestNanos = nanos;
+            }
+        }
+    }
 }
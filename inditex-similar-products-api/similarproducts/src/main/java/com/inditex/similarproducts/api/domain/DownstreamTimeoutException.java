@@ -0,0 +1,10 @@
+package com.inditex.similarproducts.api.domain;
+
+/**
+ * El mock no respondió dentro del timeout: el producto puede existir, solo ha llegado tarde.
+ */
+public class DownstreamTimeoutException extends ExternalServiceException {
+    public DownstreamTimeoutException(String message) {
+        super(message);
+    }
+}
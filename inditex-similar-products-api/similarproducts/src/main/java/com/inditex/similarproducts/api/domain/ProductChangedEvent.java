@@ -0,0 +1,19 @@
+package com.inditex.similarproducts.api.domain;
+
+/**
+ * Cambio en un producto publicado por el catálogo. En UPDATED, los campos no nulos son los valores nuevos;
+ * si no trae ninguno solo indica que el producto ha cambiado.
+ */
+public record ProductChangedEvent(
+        String productId,
+        ChangeType type,
+        String name,
+        Double price,
+        Boolean availability
+) {
+    public enum ChangeType { UPDATED, DELETED }
+
+    public boolean hasProductData() {
+        return name != null || price != null || availability != null;
+    }
+}
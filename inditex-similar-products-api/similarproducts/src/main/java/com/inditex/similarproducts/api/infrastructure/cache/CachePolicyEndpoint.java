@@ -0,0 +1,125 @@
+package com.inditex.similarproducts.api.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.inditex.similarproducts.api.infrastructure.config.CacheSpecProperties;
+import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * /actuator/cachepolicy: estadísticas de cada caché y ajuste en caliente de tamaño y TTL.
+ * Cada caché muestra también la {@link ProductTable} compartida (productos, slots retirados y bytes),
+ * que con {@link CacheWeigher#ESTIMATED_BYTES} ya va incluida en {@code weightedSize}.
+ *
+ * <pre>
+ *   curl -X POST localhost:8081/actuator/cachepolicy/productDetail \
+ *        -H 'Content-Type: application/json' -d '{"maximumWeight": 50000, "expireAfterWrite": "30m"}'
+ * </pre>
+ */
+@Component
+@Endpoint(id = "cachepolicy")
+@RequiredArgsConstructor
+public class CachePolicyEndpoint {
+
+    private final CacheManager cacheManager;
+    private final CacheSpecProperties cacheSpecProperties;
+    private final ProductTable productTable;
+
+    @ReadOperation
+    public Map<String, CachePolicyDescriptor> caches() {
+        Map<String, CachePolicyDescriptor> descriptors = new LinkedHashMap<>();
+        for (String name : cacheManager.getCacheNames()) {
+            descriptors.put(name, cache(name));
+        }
+        return descriptors;
+    }
+
+    @ReadOperation
+    public @Nullable CachePolicyDescriptor cache(@Selector String name) {
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = nativeCache(name);
+        if (nativeCache == null) {
+            return null;
+        }
+
+        // aplica escrituras pendientes para que el peso y el tamaño sean exactos
+        nativeCache.cleanUp();
+        Policy<Object, Object> policy = nativeCache.policy();
+        CacheStats stats = nativeCache.stats();
+        CacheSpecProperties.CacheSpec spec = cacheSpecProperties.getCaches().get(name);
+
+        return new CachePolicyDescriptor(
+                spec != null ? spec.getWeigher() : null,
+                policy.eviction().map(Policy.Eviction::getMaximum).orElse(null),
+                policy.eviction().map(Policy.Eviction::weightedSize)
+                      .filter(OptionalLong::isPresent)
+                      .map(OptionalLong::getAsLong)
+                      .orElse(null),
+                nativeCache.estimatedSize(),
+                policy.expireAfterWrite().map(Policy.FixedExpiration::getExpiresAfter).orElse(null),
+                stats.hitRate(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.evictionCount(),
+                stats.evictionWeight(),
+                new ProductTableUsage(productTable.size(), productTable.retiredSlots(), productTable.estimatedBytes()));
+    }
+
+    @WriteOperation
+    public @Nullable CachePolicyDescriptor update(@Selector String name,
+                                                 @Nullable Long maximumWeight,
+                                                 @Nullable Duration expireAfterWrite) {
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = nativeCache(name);
+        if (nativeCache == null) {
+            return null;
+        }
+
+        if (maximumWeight != null) {
+            if (maximumWeight < 0) {
+                throw new IllegalArgumentException("maximumWeight must be >= 0");
+            }
+            nativeCache.policy().eviction().ifPresent(eviction -> eviction.setMaximum(maximumWeight));
+        }
+        if (expireAfterWrite != null) {
+            nativeCache.policy().expireAfterWrite()
+                       .ifPresent(expiration -> expiration.setExpiresAfter(expireAfterWrite));
+        }
+        return cache(name);
+    }
+
+    @SuppressWarnings("unchecked")
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            return (com.github.benmanes.caffeine.cache.Cache<Object, Object>) caffeine;
+        }
+        return null;
+    }
+
+    public record CachePolicyDescriptor(
+            CacheWeigher weigher,
+            Long maximumWeight,
+            Long weightedSize,
+            long estimatedSize,
+            Duration expireAfterWrite,
+            double hitRatio,
+            long hitCount,
+            long missCount,
+            long evictionCount,
+            long evictionWeight,
+            ProductTableUsage productTable
+    ) {}
+
+    public record ProductTableUsage(int products, int retiredSlots, long estimatedBytes) {}
+}
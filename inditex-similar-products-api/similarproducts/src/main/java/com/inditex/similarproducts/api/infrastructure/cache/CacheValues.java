@@ -0,0 +1,23 @@
+package com.inditex.similarproducts.api.infrastructure.cache;
+
+import org.springframework.cache.Cache;
+
+final class CacheValues {
+
+    private CacheValues() {
+    }
+
+    /**
+     * Lee el valor sin contar acierto/fallo ni alterar el orden de expulsión de Caffeine.
+     */
+    @SuppressWarnings("unchecked")
+    static Object peekQuietly(Cache cache, Object key) {
+        if (cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            return ((com.github.benmanes.caffeine.cache.Cache<Object, Object>) caffeine)
+                    .policy()
+                    .getIfPresentQuietly(key);
+        }
+        Cache.ValueWrapper wrapper = cache.get(key);
+        return wrapper != null ? wrapper.get() : null;
+    }
+}
@@ -0,0 +1,39 @@
+package com.inditex.similarproducts.api.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+
+import java.util.Collection;
+
+/**
+ * Peso de cada entrada de caché: número de productos o bytes estimados en heap. Con
+ * {@link #ESTIMATED_BYTES} la huella de la {@link ProductTable} compartida se reparte entre las listas
+ * que registraron cada producto por primera vez.
+ */
+public enum CacheWeigher implements Weigher<Object, Object> {
+
+    ITEM_COUNT {
+        @Override
+        public int weigh(Object key, Object value) {
+            return Math.max(1, value instanceof Collection<?> collection ? collection.size() : 1);
+        }
+    },
+
+    ESTIMATED_BYTES {
+        // cabecera + campos de la entrada y la clave; el resto depende de la representación
+        private static final int ENTRY_OVERHEAD = 96;
+        private static final int SLOT_BYTES = Integer.BYTES;
+        private static final int PLAIN_PRODUCT_BYTES = 160;
+
+        @Override
+        public int weigh(Object key, Object value) {
+            int keyBytes = key instanceof String id ? 2 * id.length() : 16;
+            int valueBytes = switch (value) {
+                // la primera lista que trae un producto paga también su slot en la ProductTable
+                case CompactProductList compact -> 32 + SLOT_BYTES * compact.size() + (int) compact.chargedBytes();
+                case Collection<?> collection -> 32 + PLAIN_PRODUCT_BYTES * collection.size();
+                default -> 64;
+            };
+            return ENTRY_OVERHEAD + keyBytes + valueBytes;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.inditex.similarproducts.api.infrastructure.cache;
+
+import com.inditex.similarproducts.api.domain.Product;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Lista inmutable de productos representada como índices a la {@link ProductTable}.
+ * Los {@link Product} se materializan al recorrerla, es decir, al serializar la respuesta.
+ *
+ * Cada instancia tiene una referencia a cada uno de sus slots; la caché la devuelve con
+ * {@link #release()} al expulsarla o sustituirla.
+ */
+public final class CompactProductList extends AbstractList<Product> implements RandomAccess {
+
+    private final ProductTable table;
+    private final int[] slots;
+    private final long chargedBytes;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private CompactProductList(ProductTable table, int[] slots, long chargedBytes) {
+        this.table = table;
+        this.slots = slots;
+        this.chargedBytes = chargedBytes;
+    }
+
+    public static CompactProductList of(ProductTable table, List<Product> products) {
+        return of(table, products, Long.MAX_VALUE);
+    }
+
+    /**
+     * Compacta datos leídos en {@code loadedAt} (ver {@link ProductTable#intern(Product, long)}).
+     */
+    public static CompactProductList of(ProductTable table, List<Product> products, long loadedAt) {
+        if (products instanceof CompactProductList compact && compact.table == table) {
+            // comparte los slots, pero con referencias propias
+            table.retain(compact.slots);
+            return new CompactProductList(table, compact.slots, 0);
+        }
+
+        int[] slots = new int[products.size()];
+        long chargedBytes = table.internAll(products, loadedAt, slots);
+        return new CompactProductList(table, slots, chargedBytes);
+    }
+
+    /**
+     * Bytes que la tabla creció al registrar esta lista: los productos que entraron con ella.
+     * El {@link CacheWeigher} se los cobra para que el presupuesto de heap incluya la tabla.
+     */
+    public long chargedBytes() {
+        return chargedBytes;
+    }
+
+    /**
+     * Cambia si se sobrescribe alguno de sus productos en la tabla: la lista devuelve otros datos
+     * sin cambiar de instancia.
+     */
+    public long version() {
+        return table.latestStamp(slots);
+    }
+
+    /**
+     * Devuelve las referencias a la tabla. Solo tiene efecto la primera vez.
+     */
+    public void release() {
+        if (released.compareAndSet(false, true)) {
+            table.release(slots);
+        }
+    }
+
+    @Override
+    public Product get(int index) {
+        return table.product(slots[index]);
+    }
+
+    @Override
+    public int size() {
+        return slots.length;
+    }
+}
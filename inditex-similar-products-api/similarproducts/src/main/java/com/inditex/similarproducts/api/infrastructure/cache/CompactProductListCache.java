@@ -0,0 +1,246 @@
+package com.inditex.similarproducts.api.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.RemovalListener;
+import com.inditex.similarproducts.api.domain.Product;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Decorador de {@link Cache} que guarda las {@code List<Product>} como {@link CompactProductList}
+ * y mantiene el {@link ProductListIndex}. Cualquier otro valor se delega tal cual.
+ *
+ * Guardar, sustituir y expulsar una lista es atómico por clave (sobre el mapa nativo), de modo que
+ * el índice nunca conserva enlaces de una lista sustituida. Una carga que empezó antes de que cambiara
+ * alguno de sus productos ({@link ProductTable#invalidate}) no se guarda: traería datos viejos.
+ * Toda lista que sale de la caché (sustituida, expulsada o rechazada) libera sus slots de la tabla.
+ */
+public class CompactProductListCache extends DelegatingCache {
+
+    private final ProductTable productTable;
+    private final ProductListIndex productListIndex;
+    // @Cacheable hace get(key) → método → put(key) en el mismo hilo: el fallo marca el inicio de la carga
+    private final ThreadLocal<PendingFill> pendingFill = new ThreadLocal<>();
+
+    public CompactProductListCache(Cache delegate, ProductTable productTable, ProductListIndex productListIndex) {
+        super(delegate);
+        this.productTable = productTable;
+        this.productListIndex = productListIndex;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        long startedAt = productTable.currentStamp();
+        ValueWrapper value = delegate.get(key);
+        if (value == null) {
+            pendingFill.set(new PendingFill(key, startedAt));
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        long startedAt = productTable.currentStamp();
+        Object[] loaded = new Object[1];
+        T value = delegate.get(key, () -> {
+            Object compact = compact(key, valueLoader.call(), startedAt);
+            loaded[0] = compact;
+            return (T) compact;
+        });
+        if (loaded[0] instanceof CompactProductList compact && invalidatedSince(compact, startedAt)) {
+            // el cargador ya la ha publicado: se devuelve a quien la pidió, pero no se queda en caché
+            remove(key, compact);
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        long startedAt = productTable.currentStamp();
+        return delegate.retrieve(key, () -> valueLoader.get().thenApply(value -> (T) compact(key, value, startedAt)));
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        ConcurrentMap<Object, Object> map = nativeMap();
+        if (map == null || !isProductList(value)) {
+            Object previous = CacheValues.peekQuietly(delegate, key);
+            Object stored = compact(key, value, fillStartedAt(key));
+            delegate.put(key, stored);
+            discard(key, previous);
+            if (stored instanceof CompactProductList compact) {
+                productListIndex.register(key, compact);
+            }
+            return;
+        }
+
+        long startedAt = fillStartedAt(key);
+        map.compute(key, (k, previous) -> {
+            CompactProductList fresh = (CompactProductList) compact(k, value, startedAt);
+            boolean stale = invalidatedSince(fresh, startedAt);
+            // los productos comunes a ambas listas pierden el enlace al desindexar una: se reindexa la que queda
+            CompactProductList kept = stale ? asCompact(previous) : fresh;
+            discard(k, stale ? fresh : previous);
+            if (kept != null) {
+                productListIndex.register(k, kept);
+            }
+            return stale ? previous : fresh;
+        });
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ConcurrentMap<Object, Object> map = nativeMap();
+        if (map == null || !isProductList(value)) {
+            return delegate.putIfAbsent(key, compact(key, value, fillStartedAt(key)));
+        }
+
+        long startedAt = fillStartedAt(key);
+        Object[] existing = new Object[1];
+        map.compute(key, (k, previous) -> {
+            if (previous != null) {
+                existing[0] = previous;
+                return previous;
+            }
+            CompactProductList fresh = (CompactProductList) compact(k, value, startedAt);
+            if (invalidatedSince(fresh, startedAt)) {
+                discard(k, fresh);
+                return null;
+            }
+            return fresh;
+        });
+        return existing[0] != null ? new SimpleValueWrapper(existing[0]) : null;
+    }
+
+    @Override
+    public void evict(Object key) {
+        evictIfPresent(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        ConcurrentMap<Object, Object> map = nativeMap();
+        if (map == null) {
+            discard(key, CacheValues.peekQuietly(delegate, key));
+            return delegate.evictIfPresent(key);
+        }
+
+        boolean[] evicted = new boolean[1];
+        map.computeIfPresent(key, (k, previous) -> {
+            discard(k, previous);
+            evicted[0] = true;
+            return null;
+        });
+        return evicted[0];
+    }
+
+    @Override
+    public void clear() {
+        ConcurrentMap<Object, Object> map = nativeMap();
+        if (map == null) {
+            delegate.clear();
+            return;
+        }
+        map.keySet().forEach(this::evictIfPresent);
+    }
+
+    @Override
+    public boolean invalidate() {
+        ConcurrentMap<Object, Object> map = nativeMap();
+        if (map == null) {
+            return delegate.invalidate();
+        }
+        boolean notEmpty = !map.isEmpty();
+        clear();
+        return notEmpty;
+    }
+
+    private Object compact(Object key, Object value, long startedAt) {
+        if (!isProductList(value)) {
+            return value;
+        }
+        @SuppressWarnings("unchecked")
+        CompactProductList compact = CompactProductList.of(productTable, (List<Product>) value, startedAt);
+        // se indexa antes de publicar la entrada (y antes de comprobar invalidaciones) para no perder eventos
+        productListIndex.register(key, compact);
+        return compact;
+    }
+
+    private boolean invalidatedSince(CompactProductList compact, long startedAt) {
+        for (Product product : compact) {
+            if (productTable.invalidatedAfter(product.id(), startedAt)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void remove(Object key, CompactProductList compact) {
+        ConcurrentMap<Object, Object> map = nativeMap();
+        if (map == null) {
+            delegate.evictIfPresent(key);
+            discard(key, compact);
+            return;
+        }
+        map.computeIfPresent(key, (k, current) -> {
+            if (current != compact) {
+                return current;
+            }
+            discard(k, current);
+            return null;
+        });
+    }
+
+    private void discard(Object key, Object value) {
+        if (value instanceof CompactProductList compact) {
+            productListIndex.unregister(key, compact);
+            compact.release();
+        }
+    }
+
+    /**
+     * Para el {@code evictionListener} de Caffeine: las expulsiones por tamaño o caducidad no pasan
+     * por este decorador, pero también deben desindexar la lista y liberar sus slots.
+     */
+    public static RemovalListener<Object, Object> evictionListener(ProductListIndex productListIndex) {
+        return (key, value, cause) -> {
+            if (value instanceof CompactProductList compact) {
+                productListIndex.unregister(key, compact);
+                compact.release();
+            }
+        };
+    }
+
+    private static CompactProductList asCompact(Object value) {
+        return value instanceof CompactProductList compact ? compact : null;
+    }
+
+    private long fillStartedAt(Object key) {
+        PendingFill fill = pendingFill.get();
+        pendingFill.remove();
+        // sin get(key) previo no se sabe cuándo empezó: se toma ahora
+        return fill != null && fill.key().equals(key) ? fill.startedAt() : productTable.currentStamp();
+    }
+
+    @SuppressWarnings("unchecked")
+    private ConcurrentMap<Object, Object> nativeMap() {
+        Object nativeCache = delegate.getNativeCache();
+        if (nativeCache instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            return ((com.github.benmanes.caffeine.cache.Cache<Object, Object>) caffeine).asMap();
+        }
+        return nativeCache instanceof ConcurrentMap<?, ?> map ? (ConcurrentMap<Object, Object>) map : null;
+    }
+
+    private static boolean isProductList(Object value) {
+        return value instanceof List<?> list && list.stream().allMatch(Product.class::isInstance);
+    }
+
+    private record PendingFill(Object key, long startedAt) {}
+}
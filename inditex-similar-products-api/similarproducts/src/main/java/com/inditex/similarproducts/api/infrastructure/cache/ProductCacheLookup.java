@@ -0,0 +1,57 @@
+package com.inditex.similarproducts.api.infrastructure.cache;
+
+import com.inditex.similarproducts.api.domain.Product;
+import com.inditex.similarproducts.api.infrastructure.peer.PeerAwareCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Acceso a la caché de productos similares fuera de {@code @Cacheable}. {@link #peek} y {@link #contains}
+ * no alteran sus estadísticas ni su orden de expulsión; {@link #get} y {@link #put} se comportan como
+ * {@code @Cacheable} (en modo distribuido pasan por el pod dueño de la clave).
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductCacheLookup {
+
+    public static final String PRODUCT_DETAIL = "productDetail";
+
+    private final CacheManager cacheManager;
+
+    public boolean contains(String productId) {
+        return peek(productId).isPresent();
+    }
+
+    @SuppressWarnings("unchecked")
+    public Optional<List<Product>> peek(String productId) {
+        Cache cache = cacheManager.getCache(PRODUCT_DETAIL);
+        if (cache instanceof PeerAwareCache peerAware) {
+            // nunca pregunta a otros pods: solo la caché local que corresponde a la clave
+            cache = peerAware.localCacheFor(productId);
+        }
+        if (cache == null) {
+            return Optional.empty();
+        }
+
+        return Optional.ofNullable((List<Product>) CacheValues.peekQuietly(cache, productId));
+    }
+
+    @SuppressWarnings("unchecked")
+    public Optional<List<Product>> get(String productId) {
+        Cache cache = cacheManager.getCache(PRODUCT_DETAIL);
+        Cache.ValueWrapper value = cache != null ? cache.get(productId) : null;
+        return value != null ? Optional.ofNullable((List<Product>) value.get()) : Optional.empty();
+    }
+
+    public void put(String productId, List<Product> products) {
+        Cache cache = cacheManager.getCache(PRODUCT_DETAIL);
+        if (cache != null) {
+            cache.put(productId, products);
+        }
+    }
+}
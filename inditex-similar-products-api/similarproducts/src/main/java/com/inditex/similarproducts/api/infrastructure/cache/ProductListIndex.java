@@ -0,0 +1,52 @@
+package com.inditex.similarproducts.api.infrastructure.cache;
+
+import com.inditex.similarproducts.api.domain.Product;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice inverso productId → claves de las listas cacheadas que lo contienen.
+ *
+ * Es una pista: puede contener claves ya expulsadas (p. ej. tras un {@code clear()}), por lo que
+ * quien lo use debe tolerar claves que ya no estén en caché. Los productos sin id no se indexan.
+ */
+public class ProductListIndex {
+
+    private final Map<String, Set<Object>> listsByProduct = new ConcurrentHashMap<>();
+
+    public void register(Object baseKey, Iterable<Product> products) {
+        for (Product product : products) {
+            if (product.id() == null) {
+                continue;
+            }
+            listsByProduct.compute(product.id(), (id, keys) -> {
+                Set<Object> result = keys != null ? keys : ConcurrentHashMap.newKeySet();
+                result.add(baseKey);
+                return result;
+            });
+        }
+    }
+
+    public void unregister(Object baseKey, Iterable<Product> products) {
+        for (Product product : products) {
+            if (product.id() == null) {
+                continue;
+            }
+            listsByProduct.computeIfPresent(product.id(), (id, keys) -> {
+                keys.remove(baseKey);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+    }
+
+    public Set<Object> listsContaining(String productId) {
+        Set<Object> keys = productId != null ? listsByProduct.get(productId) : null;
+        return keys != null ? Set.copyOf(keys) : Set.of();
+    }
+
+    public int indexedProducts() {
+        return listsByProduct.size();
+    }
+}
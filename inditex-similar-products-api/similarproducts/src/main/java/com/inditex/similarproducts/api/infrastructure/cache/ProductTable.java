@@ -0,0 +1,348 @@
+package com.inditex.similarproducts.api.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.inditex.similarproducts.api.domain.Product;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Tabla canónica de productos compartida por todas las listas cacheadas.
+ *
+ * Cada producto ocupa un único slot: id y nombre se guardan una sola vez, el precio como
+ * {@code double} primitivo (NaN = sin precio) y la disponibilidad en dos bitmaps (conocida / valor).
+ * Las listas cacheadas solo guardan índices a estos slots ({@link CompactProductList}).
+ *
+ * Si un producto se vuelve a cargar con otros datos, su slot se sobrescribe y todas las listas
+ * que lo contienen ven el valor más reciente.
+ *
+ * Cada slot cuenta cuántas listas cacheadas lo usan ({@link #intern} suma una, {@link #release} la
+ * quita). Al llegar a cero el producto sale de la tabla y su slot se reutiliza pasado {@code reuseGrace},
+ * para que quien aún esté recorriendo una lista recién expulsada no lea otro producto.
+ *
+ * Cada escritura lleva una marca de un reloj lógico ({@link #currentStamp()}). Una carga que empezó
+ * antes de la última escritura de un slot no lo sobrescribe, y {@link #invalidate} recuerda cuándo
+ * cambió cada producto para que la caché rechace las listas que se empezaron a cargar antes.
+ */
+public class ProductTable {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    // más que cualquier carga posible (timeouts de segundos): pasado este tiempo ninguna carga en curso es anterior
+    private static final Duration INVALIDATION_MEMORY = Duration.ofMinutes(10);
+    // una respuesta en curso no tarda tanto en recorrer su lista
+    private static final Duration DEFAULT_REUSE_GRACE = Duration.ofMinutes(1);
+    // por slot: referencias en los arrays, stamp, contador y la entrada de slotsById con su Integer
+    private static final int SLOT_BYTES = 4 + 4 + 8 + 8 + 4 + 32 + 16;
+    // cabecera del String y de su byte[] (Latin-1)
+    private static final int STRING_BYTES = 40;
+
+    private final Map<String, Integer> slotsById = new ConcurrentHashMap<>();
+    private final Queue<RetiredSlot> retired = new ArrayDeque<>();
+    private final long reuseGraceNanos;
+    private final LongSupplier nanoTime;
+    private final StampedLock lock = new StampedLock();
+    private final AtomicLong clock = new AtomicLong();
+    private final Cache<String, Long> invalidations = Caffeine.newBuilder()
+            .expireAfterWrite(INVALIDATION_MEMORY)
+            .build();
+
+    private String[] ids = new String[INITIAL_CAPACITY];
+    private String[] names = new String[INITIAL_CAPACITY];
+    private double[] prices = new double[INITIAL_CAPACITY];
+    private long[] stamps = new long[INITIAL_CAPACITY];
+    private int[] references = new int[INITIAL_CAPACITY];
+    private long[] availabilityKnown = new long[INITIAL_CAPACITY >>> 6];
+    private long[] availabilityValue = new long[INITIAL_CAPACITY >>> 6];
+    private int size;
+    private long estimatedBytes;
+
+    public ProductTable() {
+        this(DEFAULT_REUSE_GRACE, System::nanoTime);
+    }
+
+    ProductTable(Duration reuseGrace, LongSupplier nanoTime) {
+        this.reuseGraceNanos = reuseGrace.toNanos();
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Registra (o actualiza) el producto y devuelve su slot con una referencia más: quien lo llama
+     * debe devolverla con {@link #release}.
+     */
+    public int intern(Product product) {
+        return intern(product, Long.MAX_VALUE);
+    }
+
+    /**
+     * Como {@link #intern(Product)} para datos leídos en {@code loadedAt}: si el slot se ha escrito
+     * después (un evento o una carga más reciente), se conserva lo que hay.
+     */
+    public int intern(Product product, long loadedAt) {
+        long stamp = lock.writeLock();
+        try {
+            return internLocked(product, loadedAt);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * {@link #intern(Product, long)} de toda una lista bajo un solo bloqueo. Deja los slots en
+     * {@code slots} y devuelve los bytes que la tabla ha crecido por los productos que eran nuevos.
+     */
+    public long internAll(List<Product> products, long loadedAt, int[] slots) {
+        long stamp = lock.writeLock();
+        try {
+            long before = estimatedBytes;
+            for (int i = 0; i < slots.length; i++) {
+                slots[i] = internLocked(products.get(i), loadedAt);
+            }
+            return Math.max(0, estimatedBytes - before);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Suma una referencia a slots ya registrados (otra lista que los comparte).
+     */
+    public void retain(int[] slots) {
+        long stamp = lock.writeLock();
+        try {
+            for (int slot : slots) {
+                references[slot]++;
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Quita una referencia a cada slot; los que se quedan sin ninguna salen de la tabla.
+     */
+    public void release(int[] slots) {
+        long stamp = lock.writeLock();
+        try {
+            long now = nanoTime.getAsLong();
+            for (int slot : slots) {
+                if (--references[slot] == 0) {
+                    slotsById.remove(ids[slot], slot);
+                    retired.add(new RetiredSlot(slot, now));
+                    estimatedBytes -= SLOT_BYTES + stringBytes(ids[slot]) + stringBytes(names[slot]);
+                }
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Sobrescribe el producto solo si ya está en la tabla, sin sumar referencias. Devuelve false si no estaba.
+     */
+    public boolean update(Product product) {
+        long stamp = lock.writeLock();
+        try {
+            Integer slot = product.id() != null ? slotsById.get(product.id()) : null;
+            if (slot == null) {
+                return false;
+            }
+            store(slot, product);
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Anota que el producto ha cambiado ahora. Se llama antes de parchear o expulsar nada.
+     */
+    public void invalidate(String productId) {
+        invalidations.asMap().merge(productId, clock.incrementAndGet(), Math::max);
+    }
+
+    /**
+     * Si el producto ha cambiado después de la marca {@code stamp}.
+     */
+    public boolean invalidatedAfter(String productId, long stamp) {
+        Long invalidatedAt = invalidations.getIfPresent(productId);
+        return invalidatedAt != null && invalidatedAt > stamp;
+    }
+
+    /**
+     * Marca del reloj lógico: se toma al empezar una carga para compararla con escrituras posteriores.
+     */
+    public long currentStamp() {
+        return clock.get();
+    }
+
+    public Optional<Product> find(String productId) {
+        Integer slot = productId != null ? slotsById.get(productId) : null;
+        return slot != null ? Optional.of(product(slot)) : Optional.empty();
+    }
+
+    /**
+     * Materializa el producto guardado en el slot.
+     */
+    public Product product(int slot) {
+        long stamp = lock.tryOptimisticRead();
+        Product product = read(slot);
+        if (lock.validate(stamp)) {
+            return product;
+        }
+
+        stamp = lock.readLock();
+        try {
+            return read(slot);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Marca de la última escritura de cualquiera de los slots. Mientras tengan referencias no se
+     * reutilizan, así que solo cambia si se sobrescribe alguno de esos productos.
+     */
+    public long latestStamp(int[] slots) {
+        long stamp = lock.readLock();
+        try {
+            long latest = 0;
+            for (int slot : slots) {
+                latest = Math.max(latest, stamps[slot]);
+            }
+            return latest;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Productos en la tabla (slots con alguna referencia).
+     */
+    public int size() {
+        return slotsById.size();
+    }
+
+    /**
+     * Slots liberados a la espera de reutilizarse.
+     */
+    public int retiredSlots() {
+        long stamp = lock.readLock();
+        try {
+            return retired.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Huella estimada en heap de los productos de la tabla (sin contar slots retirados).
+     */
+    public long estimatedBytes() {
+        long stamp = lock.readLock();
+        try {
+            return estimatedBytes;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private int internLocked(Product product, long loadedAt) {
+        if (product.id() == null) {
+            throw new IllegalArgumentException("Cannot intern a product without id");
+        }
+        Integer current = slotsById.get(product.id());
+        int slot = current != null ? current : allocate(product.id());
+        if (current == null || (stamps[slot] <= loadedAt && !product.equals(read(slot)))) {
+            store(slot, product);
+        }
+        references[slot]++;
+        return slot;
+    }
+
+    private int allocate(String id) {
+        RetiredSlot oldest = retired.peek();
+        int slot;
+        if (oldest != null && nanoTime.getAsLong() - oldest.retiredAt() >= reuseGraceNanos) {
+            slot = retired.remove().slot();
+        } else {
+            ensureCapacity(size + 1);
+            slot = size++;
+        }
+        ids[slot] = id;
+        names[slot] = null;
+        slotsById.put(id, slot);
+        estimatedBytes += SLOT_BYTES + stringBytes(id);
+        return slot;
+    }
+
+    private void store(int slot, Product product) {
+        write(slot, product);
+        stamps[slot] = clock.incrementAndGet();
+    }
+
+    private Product read(int slot) {
+        String[] currentIds = ids;
+        String[] currentNames = names;
+        double[] currentPrices = prices;
+        long[] known = availabilityKnown;
+        long[] value = availabilityValue;
+        if (slot >= currentIds.length || slot >= currentPrices.length || (slot >>> 6) >= known.length
+                || (slot >>> 6) >= value.length) {
+            // lectura optimista sobre arrays a medio crecer: validate() la descartará
+            return null;
+        }
+
+        double price = currentPrices[slot];
+        long mask = 1L << slot;
+        Boolean availability = (known[slot >>> 6] & mask) == 0 ? null : (value[slot >>> 6] & mask) != 0;
+        return new Product(currentIds[slot], currentNames[slot], Double.isNaN(price) ? null : price, availability);
+    }
+
+    private void write(int slot, Product product) {
+        estimatedBytes += stringBytes(product.name()) - stringBytes(names[slot]);
+        names[slot] = product.name();
+        prices[slot] = product.price() != null ? product.price() : Double.NaN;
+
+        int word = slot >>> 6;
+        long mask = 1L << slot;
+        if (product.availability() == null) {
+            availabilityKnown[word] &= ~mask;
+            availabilityValue[word] &= ~mask;
+        } else {
+            availabilityKnown[word] |= mask;
+            availabilityValue[word] = product.availability()
+                    ? availabilityValue[word] | mask
+                    : availabilityValue[word] & ~mask;
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= ids.length) {
+            return;
+        }
+        int capacity = Math.max(required, ids.length << 1);
+        ids = Arrays.copyOf(ids, capacity);
+        names = Arrays.copyOf(names, capacity);
+        prices = Arrays.copyOf(prices, capacity);
+        stamps = Arrays.copyOf(stamps, capacity);
+        references = Arrays.copyOf(references, capacity);
+        availabilityKnown = Arrays.copyOf(availabilityKnown, (capacity + 63) >>> 6);
+        availabilityValue = Arrays.copyOf(availabilityValue, (capacity + 63) >>> 6);
+    }
+
+    private static long stringBytes(String value) {
+        return value != null ? STRING_BYTES + value.length() : 0;
+    }
+
+    private record RetiredSlot(int slot, long retiredAt) {}
+}
@@ -0,0 +1,30 @@
+package com.inditex.similarproducts.api.infrastructure.cache;
+
+import com.inditex.similarproducts.api.infrastructure.web.RequestTimings;
+import org.springframework.cache.Cache;
+
+/**
+ * Anota en {@link RequestTimings} la duración de la consulta a caché (fase "cache" de Server-Timing).
+ */
+public class TimedCache extends DelegatingCache {
+
+    public TimedCache(Cache delegate) {
+        super(delegate);
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        long start = System.nanoTime();
+        ValueWrapper value = delegate.get(key);
+        RequestTimings.record("cache", System.nanoTime() - start, value != null ? "hit" : "miss");
+        return value;
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        long start = System.nanoTime();
+        T value = delegate.get(key, type);
+        RequestTimings.record("cache", System.nanoTime() - start, value != null ? "hit" : "miss");
+        return value;
+    }
+}
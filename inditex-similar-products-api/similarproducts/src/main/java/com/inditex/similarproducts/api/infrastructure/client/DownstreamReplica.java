@@ -0,0 +1,105 @@
+package com.inditex.similarproducts.api.infrastructure.client;
+
+import java.net.URI;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Estado de una réplica para el {@link ReplicaBalancer}: latencia (peak EWMA), peticiones en curso
+ * y expulsión por fallos.
+ */
+public class DownstreamReplica {
+
+    /** Suelo de coste para que una réplica sin medidas no gane siempre. */
+    private static final double BASELINE_NANOS = 1_000_000;
+
+    private final URI baseUri;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Set<String> failedKeys = new HashSet<>();
+
+    private double ewmaNanos;
+    private long lastSampleNanos;
+    private boolean sampled;
+    private int consecutiveFailures;
+    private int ejections;
+    private volatile boolean everEjected;
+    private volatile long ejectedUntilNanos;
+
+    DownstreamReplica(URI baseUri) {
+        this.baseUri = baseUri;
+    }
+
+    public URI baseUri() {
+        return baseUri;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public synchronized double ewmaMillis() {
+        return ewmaNanos / 1_000_000;
+    }
+
+    public boolean isEjected(long nowNanos) {
+        return everEjected && nowNanos - ejectedUntilNanos < 0;
+    }
+
+    /**
+     * Coste para P2C: latencia esperada escalada por la cola que ya tiene la réplica.
+     */
+    synchronized double cost() {
+        return (ewmaNanos + BASELINE_NANOS) * (inFlight.get() + 1);
+    }
+
+    void begin() {
+        inFlight.incrementAndGet();
+    }
+
+    void end() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Peak EWMA: un pico se adopta al momento y se olvida con constante de tiempo {@code decayNanos}.
+     */
+    synchronized void recordLatency(long latencyNanos, long nowNanos, long decayNanos) {
+        if (!sampled || latencyNanos > ewmaNanos) {
+            ewmaNanos = latencyNanos;
+        } else {
+            double weight = Math.exp(-(double) (nowNanos - lastSampleNanos) / decayNanos);
+            ewmaNanos = ewmaNanos * weight + latencyNanos * (1 - weight);
+        }
+        lastSampleNanos = nowNanos;
+        sampled = true;
+    }
+
+    synchronized void recordSuccess(long nowNanos, long maxEjectionNanos) {
+        consecutiveFailures = 0;
+        failedKeys.clear();
+        if (ejections > 0 && nowNanos - ejectedUntilNanos > maxEjectionNanos) {
+            ejections = 0;
+        }
+    }
+
+    /**
+     * Devuelve true si este fallo alcanza el umbral y la racha abarca al menos dos claves distintas.
+     */
+    synchronized boolean recordFailure(String key, int threshold) {
+        if (failedKeys.size() < threshold) {
+            failedKeys.add(key);
+        }
+        return ++consecutiveFailures >= threshold && failedKeys.size() >= 2;
+    }
+
+    /**
+     * Expulsa la réplica; al readmitirse queda a prueba: un solo fallo más la vuelve a expulsar.
+     */
+    synchronized void eject(long nowNanos, long baseEjectionNanos, long maxEjectionNanos, int threshold) {
+        ejections++;
+        ejectedUntilNanos = nowNanos + Math.min(baseEjectionNanos * ejections, maxEjectionNanos);
+        everEjected = true;
+        consecutiveFailures = threshold - 1;
+    }
+}
@@ -0,0 +1,81 @@
+package com.inditex.similarproducts.api.infrastructure.client;
+
+import com.inditex.similarproducts.api.infrastructure.config.SimuladoTimeoutProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Políticas de timeout por endpoint del mock: {@code similarids} ({@code /product/{id}/similarids})
+ * y {@code product} ({@code /product/{id}}). Cualquier otra ruta usa la política {@code default}.
+ * Un endpoint sin configuración usa un timeout fijo de {@code simulado.timeouts.response-ms}.
+ */
+public class DownstreamTimeouts implements AutoCloseable {
+
+    public static final String SIMILAR_IDS = "similarids";
+    public static final String PRODUCT = "product";
+    public static final String DEFAULT = "default";
+
+    private static final Pattern SIMILAR_IDS_PATH = Pattern.compile("/product/[^/]+/similarids");
+    private static final Pattern PRODUCT_PATH = Pattern.compile("/product/[^/]+");
+
+    private final Map<String, EndpointTimeoutPolicy> policies = new LinkedHashMap<>();
+    private ScheduledExecutorService roller;
+
+    public DownstreamTimeouts(SimuladoTimeoutProperties properties, MeterRegistry meterRegistry) {
+        Duration fallback = Duration.ofMillis(properties.getResponseMs());
+        for (String endpoint : List.of(SIMILAR_IDS, PRODUCT, DEFAULT)) {
+            SimuladoTimeoutProperties.EndpointTimeout config =
+                    properties.getEndpoints().getOrDefault(endpoint, new SimuladoTimeoutProperties.EndpointTimeout());
+            EndpointTimeoutPolicy policy = new EndpointTimeoutPolicy(endpoint, config, fallback);
+            policies.put(endpoint, policy);
+            Gauge.builder("similar.downstream.timeout", policy, p -> p.timeout().toMillis())
+                 .tag("endpoint", endpoint).baseUnit("milliseconds").register(meterRegistry);
+        }
+    }
+
+    /**
+     * Arranca la rotación periódica de las ventanas de latencia.
+     */
+    public DownstreamTimeouts start() {
+        roller = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("downstream-timeouts").factory());
+        policies.values().forEach(policy -> {
+            long period = policy.sliceLength().toMillis();
+            roller.scheduleAtFixedRate(policy::roll, period, period, TimeUnit.MILLISECONDS);
+        });
+        return this;
+    }
+
+    public Map<String, EndpointTimeoutPolicy> policies() {
+        return policies;
+    }
+
+    public EndpointTimeoutPolicy policyFor(URI uri) {
+        String path = uri.getPath();
+        if (SIMILAR_IDS_PATH.matcher(path).matches()) {
+            return policies.get(SIMILAR_IDS);
+        }
+        return policies.get(PRODUCT_PATH.matcher(path).matches() ? PRODUCT : DEFAULT);
+    }
+
+    void rollAll() {
+        policies.values().forEach(EndpointTimeoutPolicy::roll);
+    }
+
+    @Override
+    public void close() {
+        if (roller != null) {
+            roller.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.inditex.similarproducts.api.infrastructure.client;
+
+import com.inditex.similarproducts.api.infrastructure.config.SimuladoTimeoutProperties.EndpointTimeout;
+import com.inditex.similarproducts.api.infrastructure.config.SimuladoTimeoutProperties.Mode;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timeout de respuesta de un endpoint del mock.
+ *
+ * En modo STATIC es fijo. En modo ADAPTIVE se recalcula en cada {@link #roll()} a partir del percentil
+ * configurado de las latencias de la ventana deslizante (histogramas HdrHistogram por tramo),
+ * multiplicado por el margen y acotado a {@code [floor, ceiling]}. Las llamadas cortadas por timeout
+ * se registran con su duración, así que si el mock se vuelve lento de verdad el timeout sube solo.
+ */
+public class EndpointTimeoutPolicy {
+
+    static final int WINDOW_SLICES = 6;
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final String endpoint;
+    private final Mode mode;
+    private final EndpointTimeout config;
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 2);
+    private final Deque<Histogram> slices = new ArrayDeque<>(WINDOW_SLICES);
+
+    private volatile Duration timeout;
+    private volatile Duration observedPercentile;
+    private volatile long windowSamples;
+
+    EndpointTimeoutPolicy(String endpoint, EndpointTimeout config, Duration fallback) {
+        this.endpoint = endpoint;
+        this.mode = config.getMode();
+        this.config = config;
+        this.timeout = mode == Mode.STATIC
+                ? (config.getTimeout() != null ? config.getTimeout() : fallback)
+                : config.getCeiling();
+        if (mode == Mode.ADAPTIVE && config.getFloor().compareTo(config.getCeiling()) > 0) {
+            throw new IllegalArgumentException("Timeout floor above ceiling for endpoint " + endpoint);
+        }
+    }
+
+    public String endpoint() {
+        return endpoint;
+    }
+
+    public Duration timeout() {
+        return timeout;
+    }
+
+    public void record(long nanos) {
+        long micros = Math.clamp(TimeUnit.NANOSECONDS.toMicros(nanos), 0, HIGHEST_TRACKABLE_MICROS);
+        recorder.recordValue(micros);
+    }
+
+    /**
+     * Cierra el tramo actual, descarta el más antiguo si la ventana está llena y recalcula el timeout.
+     */
+    synchronized void roll() {
+        Histogram recycled = slices.size() == WINDOW_SLICES ? slices.removeFirst() : null;
+        slices.addLast(recorder.getIntervalHistogram(recycled));
+
+        Histogram merged = new Histogram(HIGHEST_TRACKABLE_MICROS, 2);
+        slices.forEach(merged::add);
+        windowSamples = merged.getTotalCount();
+        observedPercentile = windowSamples > 0
+                ? Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(merged.getValueAtPercentile(config.getPercentile() * 100)))
+                : null;
+
+        if (mode == Mode.ADAPTIVE) {
+            timeout = windowSamples < config.getMinSamples()
+                    ? config.getCeiling()
+                    : clamp(Duration.ofNanos((long) (observedPercentile.toNanos() * config.getMultiplier())));
+        }
+    }
+
+    Duration sliceLength() {
+        return config.getWindow().dividedBy(WINDOW_SLICES);
+    }
+
+    public TimeoutPolicyDescriptor describe() {
+        boolean adaptive = mode == Mode.ADAPTIVE;
+        return new TimeoutPolicyDescriptor(
+                mode,
+                timeout,
+                adaptive ? config.getPercentile() : null,
+                observedPercentile,
+                windowSamples,
+                adaptive ? config.getFloor() : null,
+                adaptive ? config.getCeiling() : null,
+                config.getWindow());
+    }
+
+    private Duration clamp(Duration value) {
+        if (value.compareTo(config.getFloor()) < 0) {
+            return config.getFloor();
+        }
+        return value.compareTo(config.getCeiling()) > 0 ? config.getCeiling() : value;
+    }
+
+    public record TimeoutPolicyDescriptor(
+            Mode mode,
+            Duration responseTimeout,
+            Double percentile,
+            Duration observedPercentile,
+            long windowSamples,
+            Duration floor,
+            Duration ceiling,
+            Duration window
+    ) {}
+}
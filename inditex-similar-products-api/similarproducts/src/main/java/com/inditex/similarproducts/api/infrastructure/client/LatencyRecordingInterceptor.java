@@ -0,0 +1,31 @@
+package com.inditex.similarproducts.api.infrastructure.client;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * Registra la latencia de cada llamada al mock (hasta las cabeceras de respuesta) en la política de
+ * timeout de su endpoint. Los fallos de E/S, timeouts incluidos, cuentan con el tiempo transcurrido.
+ */
+@RequiredArgsConstructor
+public class LatencyRecordingInterceptor implements ClientHttpRequestInterceptor {
+
+    private final DownstreamTimeouts timeouts;
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        EndpointTimeoutPolicy policy = timeouts.policyFor(request.getURI());
+        long start = System.nanoTime();
+        try {
+            return execution.execute(request, body);
+        } finally {
+            policy.record(System.nanoTime() - start);
+        }
+    }
+}
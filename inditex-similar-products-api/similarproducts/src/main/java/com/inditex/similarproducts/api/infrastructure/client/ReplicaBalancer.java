@@ -0,0 +1,144 @@
+package com.inditex.similarproducts.api.infrastructure.client;
+
+import com.inditex.similarproducts.api.infrastructure.config.SimuladoBalancerProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * Balanceo en cliente entre réplicas del mock: power-of-two-choices sobre
+ * {@code EWMA de latencia × (peticiones en curso + 1)}.
+ *
+ * Expulsión pasiva: tras {@code consecutiveFailures} fallos seguidos, de al menos dos claves distintas,
+ * una réplica sale del reparto durante {@code baseEjection × nº de expulsiones} (hasta {@code maxEjection})
+ * y después se readmite sola. Que falle siempre el mismo producto no dice nada de la réplica. Si todas
+ * están expulsadas se reparte entre todas antes que fallar sin intentarlo.
+ *
+ * Las llamadas {@link Outcome#NEUTRAL} (timeouts de lectura, que dependen del producto, y cancelaciones)
+ * no cuentan ni como latencia ni como fallo.
+ */
+@Slf4j
+public class ReplicaBalancer {
+
+    private final List<DownstreamReplica> replicas;
+    private final SimuladoBalancerProperties properties;
+    private final LongSupplier nanoClock;
+    private final MeterRegistry meterRegistry;
+
+    public ReplicaBalancer(List<String> baseUrls, SimuladoBalancerProperties properties, MeterRegistry meterRegistry) {
+        this(baseUrls, properties, meterRegistry, System::nanoTime);
+    }
+
+    ReplicaBalancer(List<String> baseUrls, SimuladoBalancerProperties properties, MeterRegistry meterRegistry,
+                    LongSupplier nanoClock) {
+        if (baseUrls.isEmpty()) {
+            throw new IllegalArgumentException("At least one downstream replica is required");
+        }
+        this.replicas = baseUrls.stream().map(URI::create).map(DownstreamReplica::new).toList();
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+        this.meterRegistry = meterRegistry;
+
+        replicas.forEach(replica -> {
+            String tag = replica.baseUri().toString();
+            Gauge.builder("similar.downstream.replica.latency.ewma", replica, DownstreamReplica::ewmaMillis)
+                 .tag("replica", tag).baseUnit("milliseconds").register(meterRegistry);
+            Gauge.builder("similar.downstream.replica.inflight", replica, DownstreamReplica::inFlight)
+                 .tag("replica", tag).register(meterRegistry);
+            Gauge.builder("similar.downstream.replica.ejected", replica, r -> r.isEjected(nanoClock.getAsLong()) ? 1 : 0)
+                 .tag("replica", tag).register(meterRegistry);
+        });
+    }
+
+    public List<DownstreamReplica> replicas() {
+        return replicas;
+    }
+
+    public DownstreamReplica choose() {
+        long now = nanoClock.getAsLong();
+        List<DownstreamReplica> candidates = replicas.stream().filter(replica -> !replica.isEjected(now)).toList();
+        if (candidates.isEmpty()) {
+            candidates = replicas;
+        }
+        if (candidates.size() == 1) {
+            return candidates.getFirst();
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        DownstreamReplica a = candidates.get(first);
+        DownstreamReplica b = candidates.get(second);
+        return a.cost() <= b.cost() ? a : b;
+    }
+
+    public void begin(DownstreamReplica replica) {
+        replica.begin();
+    }
+
+    /**
+     * Registra el resultado de una llamada a {@code key} (la ruta pedida). La latencia de un fallo es
+     * la que decide quien llama: la real para un 5xx, al menos el timeout para un error de conexión.
+     */
+    public void complete(DownstreamReplica replica, long latencyNanos, Outcome outcome, String key) {
+        replica.end();
+        meterRegistry.counter("similar.downstream.replica.requests",
+                              "replica", replica.baseUri().toString(), "outcome", outcome.tag())
+                     .increment();
+        if (outcome == Outcome.NEUTRAL) {
+            return;
+        }
+
+        long now = nanoClock.getAsLong();
+        replica.recordLatency(latencyNanos, now, properties.getEwmaDecay().toNanos());
+        if (outcome == Outcome.SUCCESS) {
+            replica.recordSuccess(now, properties.getMaxEjection().toNanos());
+            return;
+        }
+        if (replica.recordFailure(key, properties.getConsecutiveFailures()) && tryEject(replica, now)) {
+            meterRegistry.counter("similar.downstream.replica.ejections", "replica", replica.baseUri().toString())
+                         .increment();
+            log.warn("Ejecting downstream replica {} after {} consecutive failures",
+                     replica.baseUri(), properties.getConsecutiveFailures());
+        }
+    }
+
+    /**
+     * Comprobar el límite de expulsadas y expulsar van juntos: dos fallos simultáneos en réplicas
+     * distintas no pueden superar {@code maxEjectedPercent}.
+     */
+    private synchronized boolean tryEject(DownstreamReplica replica, long now) {
+        if (replica.isEjected(now)) {
+            return false;
+        }
+        long ejected = replicas.stream().filter(candidate -> candidate.isEjected(now)).count();
+        if ((ejected + 1) * 100 > (long) replicas.size() * properties.getMaxEjectedPercent()) {
+            return false;
+        }
+        replica.eject(now, properties.getBaseEjection().toNanos(), properties.getMaxEjection().toNanos(),
+                      properties.getConsecutiveFailures());
+        return true;
+    }
+
+    public enum Outcome {
+        /** Cualquier respuesta no 5xx. */
+        SUCCESS,
+        /** 5xx o error de conexión: cuenta para la racha de expulsión. */
+        FAILURE,
+        /** Ni mide la réplica ni cuenta como fallo. */
+        NEUTRAL;
+
+        String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+}
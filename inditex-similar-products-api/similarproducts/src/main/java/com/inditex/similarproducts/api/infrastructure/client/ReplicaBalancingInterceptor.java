@@ -0,0 +1,69 @@
+package com.inditex.similarproducts.api.infrastructure.client;
+
+import com.inditex.similarproducts.api.infrastructure.client.ReplicaBalancer.Outcome;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.support.HttpRequestWrapper;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+
+/**
+ * Redirige cada llamada del {@code simuladoRestClient} a la réplica elegida por el
+ * {@link ReplicaBalancer} y le informa de la latencia y el resultado.
+ *
+ * Un timeout de lectura o una llamada cancelada es neutral: los productos lentos del mock agotan el
+ * timeout en cualquier réplica. Un 5xx cuenta para la expulsión pero con su latencia real: puede ser
+ * de un solo producto (el 6 del mock siempre da 500) y, con el EWMA de picos, penalizarlo con el
+ * timeout dejaría a la réplica sin tráfico. Solo los errores de conexión cuentan al menos el timeout
+ * vigente como latencia, para que una réplica caída no parezca la más rápida.
+ */
+@RequiredArgsConstructor
+public class ReplicaBalancingInterceptor implements ClientHttpRequestInterceptor {
+
+    private final ReplicaBalancer balancer;
+    private final DownstreamTimeouts timeouts;
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        DownstreamReplica replica = balancer.choose();
+        URI target = UriComponentsBuilder.fromUri(request.getURI())
+                                         .scheme(replica.baseUri().getScheme())
+                                         .host(replica.baseUri().getHost())
+                                         .port(replica.baseUri().getPort())
+                                         .build(true)
+                                         .toUri();
+
+        long start = System.nanoTime();
+        balancer.begin(replica);
+        try {
+            ClientHttpResponse response = execution.execute(new HttpRequestWrapper(request) {
+                @Override
+                public URI getURI() {
+                    return target;
+                }
+            }, body);
+            if (response.getStatusCode().is5xxServerError()) {
+                balancer.complete(replica, System.nanoTime() - start, Outcome.FAILURE, target.getPath());
+            } else {
+                balancer.complete(replica, System.nanoTime() - start, Outcome.SUCCESS, target.getPath());
+            }
+            return response;
+        } catch (IOException | RuntimeException e) {
+            boolean neutral = e instanceof InterruptedIOException || Thread.currentThread().isInterrupted();
+            balancer.complete(replica, penalty(target, start), neutral ? Outcome.NEUTRAL : Outcome.FAILURE,
+                              target.getPath());
+            throw e;
+        }
+    }
+
+    private long penalty(URI target, long start) {
+        return Math.max(System.nanoTime() - start, timeouts.policyFor(target).timeout().toNanos());
+    }
+}
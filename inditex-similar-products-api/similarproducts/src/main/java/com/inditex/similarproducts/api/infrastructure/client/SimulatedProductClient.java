@@ -1,18 +1,23 @@
 package com.inditex.similarproducts.api.infrastructure.client;
 
+import com.inditex.similarproducts.api.domain.DownstreamTimeoutException;
 import com.inditex.similarproducts.api.domain.ExternalServiceException;
 import com.inditex.similarproducts.api.domain.Product;
 import com.inditex.similarproducts.api.domain.ProductNotFoundException;
-import com.inditex.similarproducts.api.infrastructure.mapper.ProductMapper;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.NestedExceptionUtils;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestClientException;
+import tools.jackson.core.JacksonException;
 
+import java.net.SocketTimeoutException;
 import java.util.List;
+import java.util.function.Supplier;
 
 @Component
 @RequiredArgsConstructor
@@ -20,51 +25,85 @@ import java.util.List;
 public class SimulatedProductClient {
 
     private final RestClient simuladoRestClient;
-    private final ProductMapper productMapper;
+    private final SimulatedProductDecoder productDecoder;
+    private final ObservationRegistry observationRegistry;
 
     /**
      * Llama a: GET /product/{id}/similarids en el mock (puerto 3001)
      */
     public List<String> loadSimilarProductIds(String productId) {
+        return observe("similarids", productId, () -> fetchSimilarProductIds(productId));
+    }
+
+    private List<String> fetchSimilarProductIds(String productId) {
         try {
             return simuladoRestClient.get()
                     .uri("/product/{id}/similarids", productId)
-                    .retrieve()
-                    .onStatus(status -> status.value() == 404, (req, res) -> {
-                        throw new ProductNotFoundException(productId);
-                    })
-                    .onStatus(HttpStatusCode::is5xxServerError, (req, res) -> {
-                        throw new ExternalServiceException("Error calling similarids " + productId);
-                    })
-                    .body(new ParameterizedTypeReference<List<String>>() {
+                    .exchange((request, response) -> {
+                        checkStatus(response.getStatusCode(), productId, "similarids");
+                        return productDecoder.decodeIds(response.getBody());
                     });
-        } catch (RestClientException e) {
-            // timeouts, I/O, etc. -> error externo
+        } catch (RestClientException | JacksonException e) {
+            // timeouts, I/O, cuerpo inválido, etc. -> error externo
             throw new ExternalServiceException("Timeout/error calling similarids " + productId);
         }
     }
 
 
     /**
-     * Llama a: GET /product/{id} en el mock y lo mapea a dominio.
+     * Llama a: GET /product/{id} en el mock y lo decodifica directamente a dominio.
      */
     public Product loadProductDetailForId(String productId) {
+        return observe("product", productId, () -> fetchProductDetail(productId));
+    }
+
+    private Product fetchProductDetail(String productId) {
         try {
-            SimulatedProductDto dto = simuladoRestClient.get()
+            return simuladoRestClient.get()
                     .uri("/product/{id}", productId)
-                    .retrieve()
-                    .onStatus(status -> status.value() == 404, (request, response) -> {
-                        throw new ProductNotFoundException(productId);
-                    })
-                    .onStatus(HttpStatusCode::is5xxServerError, (request, response) -> {
-                        throw new ExternalServiceException("Error calling simulado product " + productId);
-                    })
-                    .body(SimulatedProductDto.class);
+                    .exchange((request, response) -> {
+                        checkStatus(response.getStatusCode(), productId, "simulado product");
+                        return productDecoder.decodeProduct(response.getBody());
+                    });
+        } catch (RestClientException | JacksonException e) {
+            if (NestedExceptionUtils.getMostSpecificCause(e) instanceof SocketTimeoutException) {
+                throw new DownstreamTimeoutException("Timeout calling simulado product " + productId);
+            }
+            throw new ExternalServiceException("Error calling simulado product " + productId);
+        }
+    }
 
-            return productMapper.toDomain(dto);
+    private static void checkStatus(HttpStatusCode status, String productId, String resource) {
+        if (status.value() == 404) {
+            throw new ProductNotFoundException(productId);
+        }
+        if (!status.is2xxSuccessful()) {
+            throw new ExternalServiceException("Error calling " + resource + " " + productId + ": " + status.value());
+        }
+    }
 
-        } catch (RestClientException e) { // aquí entran los timeouts
-            throw new ExternalServiceException("Timeout/error calling simulado product " + productId);
+    /**
+     * Un span/timer "simulado.client" por llamada, con el id de producto y el resultado.
+     */
+    private <T> T observe(String endpoint, String productId, Supplier<T> call) {
+        Observation observation = Observation.createNotStarted("simulado.client", observationRegistry)
+                                             .contextualName("simulado " + endpoint)
+                                             .lowCardinalityKeyValue("endpoint", endpoint)
+                                             .highCardinalityKeyValue("product.id", productId)
+                                             .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            T result = call.get();
+            observation.lowCardinalityKeyValue("outcome", "success");
+            return result;
+        } catch (ProductNotFoundException e) {
+            observation.lowCardinalityKeyValue("outcome", "not_found");
+            throw e;
+        } catch (ExternalServiceException e) {
+            observation.lowCardinalityKeyValue("outcome", "error");
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
         }
     }
 }
@@ -0,0 +1,114 @@
+package com.inditex.similarproducts.api.infrastructure.client;
+
+import com.inditex.similarproducts.api.domain.Product;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.core.ObjectReadContext;
+import tools.jackson.core.exc.StreamReadException;
+import tools.jackson.core.json.JsonFactory;
+
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Decodifica en streaming las respuestas del mock directamente al dominio, sin DTO intermedio ni
+ * databinding por reflexión: un {@link Product} por detalle y un {@code String[]} por similarids.
+ *
+ * Tolera propiedades desconocidas, nulos e ids numéricos. El id es obligatorio y escalar, el nombre
+ * escalar, el precio un número y la disponibilidad un booleano: cualquier otro valor lanza una
+ * {@link StreamReadException}, que el cliente trata como un fallo del mock (el producto se descarta del
+ * fan-out) en vez de convertirlo en silencio.
+ */
+@Component
+public class SimulatedProductDecoder {
+
+    private static final int INITIAL_IDS = 8;
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    public Product decodeProduct(InputStream body) {
+        try (JsonParser parser = jsonFactory.createParser(ObjectReadContext.empty(), body)) {
+            expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+
+            String id = null;
+            String name = null;
+            Double price = null;
+            Boolean availability = null;
+            while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "id" -> id = id(parser, value);
+                    case "name" -> name = text(parser, value);
+                    case "price" -> price = price(parser, value);
+                    case "availability" -> availability = availability(parser, value);
+                    default -> parser.skipChildren();
+                }
+            }
+            if (id == null) {
+                throw new StreamReadException(parser, "Expected a product id but the body has none");
+            }
+            return new Product(id, name, price, availability);
+        }
+    }
+
+    public List<String> decodeIds(InputStream body) {
+        try (JsonParser parser = jsonFactory.createParser(ObjectReadContext.empty(), body)) {
+            expect(parser, parser.nextToken(), JsonToken.START_ARRAY);
+
+            String[] ids = new String[INITIAL_IDS];
+            int size = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new StreamReadException(parser, "Expected a product id but got " + token);
+                }
+                if (size == ids.length) {
+                    ids = Arrays.copyOf(ids, size * 2);
+                }
+                ids[size++] = id(parser, token);
+            }
+            return Collections.unmodifiableList(Arrays.asList(size == ids.length ? ids : Arrays.copyOf(ids, size)));
+        }
+    }
+
+    private static Double price(JsonParser parser, JsonToken value) {
+        return switch (value) {
+            case VALUE_NULL -> null;
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> parser.getDoubleValue();
+            default -> throw new StreamReadException(parser, "Expected a number for price but got " + value);
+        };
+    }
+
+    private static Boolean availability(JsonParser parser, JsonToken value) {
+        return switch (value) {
+            case VALUE_NULL -> null;
+            case VALUE_TRUE -> true;
+            case VALUE_FALSE -> false;
+            default -> throw new StreamReadException(parser, "Expected a boolean for availability but got " + value);
+        };
+    }
+
+    private static String id(JsonParser parser, JsonToken value) {
+        if (value == JsonToken.VALUE_NULL) {
+            throw new StreamReadException(parser, "Expected a product id but got " + value);
+        }
+        return text(parser, value);
+    }
+
+    private static String text(JsonParser parser, JsonToken value) {
+        if (value.isStructStart()) {
+            throw new StreamReadException(parser, "Expected a scalar value but got " + value);
+        }
+        return value == JsonToken.VALUE_NULL ? null : parser.getValueAsString();
+    }
+
+    private static void expect(JsonParser parser, JsonToken actual, JsonToken expected) {
+        if (actual != expected) {
+            throw new StreamReadException(parser, "Expected " + expected + " but got " + actual);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.inditex.similarproducts.api.infrastructure.client;
+
+import com.inditex.similarproducts.api.infrastructure.client.EndpointTimeoutPolicy.TimeoutPolicyDescriptor;
+import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * /actuator/timeouts: timeout de respuesta en vigor para cada endpoint del mock y, en modo adaptativo,
+ * el percentil observado en la ventana del que se deriva.
+ */
+@Component
+@Endpoint(id = "timeouts")
+@RequiredArgsConstructor
+public class TimeoutPolicyEndpoint {
+
+    private final DownstreamTimeouts downstreamTimeouts;
+
+    @ReadOperation
+    public Map<String, TimeoutPolicyDescriptor> timeouts() {
+        Map<String, TimeoutPolicyDescriptor> descriptors = new LinkedHashMap<>();
+        downstreamTimeouts.policies().forEach((endpoint, policy) -> descriptors.put(endpoint, policy.describe()));
+        return descriptors;
+    }
+
+    @ReadOperation
+    public @Nullable TimeoutPolicyDescriptor timeout(@Selector String endpoint) {
+        EndpointTimeoutPolicy policy = downstreamTimeouts.policies().get(endpoint);
+        return policy != null ? policy.describe() : null;
+    }
+}
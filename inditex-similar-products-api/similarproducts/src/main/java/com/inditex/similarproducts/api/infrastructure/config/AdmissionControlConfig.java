@@ -0,0 +1,22 @@
+package com.inditex.similarproducts.api.infrastructure.config;
+
+import com.inditex.similarproducts.api.infrastructure.web.AdmissionControlInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "similar-products.admission", name = "enabled", matchIfMissing = true)
+public class AdmissionControlConfig implements WebMvcConfigurer {
+
+    private final AdmissionControlInterceptor admissionControlInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(admissionControlInterceptor)
+                .addPathPatterns("/product/*/similar", "/internal/peer/similar/*");
+    }
+}
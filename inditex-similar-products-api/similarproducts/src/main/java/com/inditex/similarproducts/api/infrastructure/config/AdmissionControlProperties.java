@@ -0,0 +1,22 @@
+package com.inditex.similarproducts.api.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Control de admisión (estilo CoDel) delante de GET /product/{productId}/similar.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "similar-products.admission")
+public class AdmissionControlProperties {
+    private boolean enabled = true;
+    /** Fan-outs concurrentes permitidos contra el mock. */
+    private int maxConcurrency = 200;
+    /** Retardo de cola objetivo: en sobrecarga se descarta lo que espere más que esto. */
+    private int targetDelayMs = 50;
+    /** Ventana CoDel: espera máxima mientras la cola se haya vaciado recientemente. */
+    private int intervalMs = 500;
+    private int retryAfterSeconds = 1;
+}
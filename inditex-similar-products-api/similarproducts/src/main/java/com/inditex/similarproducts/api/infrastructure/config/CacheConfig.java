@@ -0,0 +1,100 @@
+package com.inditex.similarproducts.api.infrastructure.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.inditex.similarproducts.api.infrastructure.cache.CacheWeigher;
+import com.inditex.similarproducts.api.infrastructure.cache.CompactProductListCache;
+import com.inditex.similarproducts.api.infrastructure.cache.ProductListIndex;
+import com.inditex.similarproducts.api.infrastructure.cache.ProductTable;
+import com.inditex.similarproducts.api.infrastructure.cache.TimedCache;
+import com.inditex.similarproducts.api.infrastructure.peer.ConsistentHashRing;
+import com.inditex.similarproducts.api.infrastructure.peer.PeerAwareCache;
+import com.inditex.similarproducts.api.infrastructure.peer.PeerClient;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    public ProductTable productTable(MeterRegistry meterRegistry) {
+        ProductTable productTable = new ProductTable();
+        Gauge.builder("similar.cache.product.table.products", productTable, ProductTable::size)
+             .description("Products referenced by cached lists")
+             .register(meterRegistry);
+        Gauge.builder("similar.cache.product.table.retired", productTable, ProductTable::retiredSlots)
+             .description("Freed ProductTable slots waiting to be reused")
+             .register(meterRegistry);
+        Gauge.builder("similar.cache.product.table.heap", productTable, ProductTable::estimatedBytes)
+             .description("Estimated heap used by the shared ProductTable")
+             .baseUnit("bytes")
+             .register(meterRegistry);
+        return productTable;
+    }
+
+    @Bean
+    public ProductListIndex productListIndex() {
+        return new ProductListIndex();
+    }
+
+    @Bean
+    public CacheManager cacheManager(CacheSpecProperties cacheSpecProperties,
+                                     ProductTable productTable,
+                                     ProductListIndex productListIndex,
+                                     MeterRegistry meterRegistry,
+                                     PeerProperties peerProperties,
+                                     ObjectProvider<ConsistentHashRing> peerRing,
+                                     ObjectProvider<PeerClient> peerClient)
+    {
+        List<Cache> caches = new ArrayList<>();
+        cacheSpecProperties.getCaches().forEach((name, spec) -> {
+            Cache cache = compactCaffeineCache(name, spec, productTable, productListIndex, meterRegistry);
+
+            if (peerProperties.isEnabled()) {
+                CacheSpecProperties.CacheSpec hotCopySpec = new CacheSpecProperties.CacheSpec();
+                hotCopySpec.setWeigher(CacheWeigher.ITEM_COUNT);
+                hotCopySpec.setMaxItems(peerProperties.getHotCopyMaxItems());
+                hotCopySpec.setExpireAfterWrite(peerProperties.getHotCopyTtl());
+
+                Cache hotCopy = compactCaffeineCache(name + ".hotCopy", hotCopySpec, productTable,
+                                                     productListIndex, meterRegistry);
+                cache = new PeerAwareCache(cache, hotCopy, peerRing.getObject(),
+                                           peerProperties.getSelf(), peerClient.getObject());
+            }
+            caches.add(cache);
+        });
+
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(caches);
+        return cacheManager;
+    }
+
+    private static Cache compactCaffeineCache(String name,
+                                              CacheSpecProperties.CacheSpec spec,
+                                              ProductTable productTable,
+                                              ProductListIndex productListIndex,
+                                              MeterRegistry meterRegistry)
+    {
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = Caffeine.newBuilder()
+                .maximumWeight(spec.maximumWeight())
+                .weigher(spec.getWeigher())
+                .expireAfterWrite(spec.getExpireAfterWrite())
+                .evictionListener(CompactProductListCache.evictionListener(productListIndex))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, nativeCache, name);
+        return new TimedCache(new CompactProductListCache(new CaffeineCache(name, nativeCache),
+                                                          productTable, productListIndex));
+    }
+}
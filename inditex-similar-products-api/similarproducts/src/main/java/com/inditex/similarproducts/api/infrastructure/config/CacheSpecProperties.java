@@ -0,0 +1,36 @@
+package com.inditex.similarproducts.api.infrastructure.config;
+
+import com.inditex.similarproducts.api.infrastructure.cache.CacheWeigher;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuración individual de cada caché (similar-products.caches.&lt;nombre&gt;).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "similar-products")
+public class CacheSpecProperties {
+
+    private Map<String, CacheSpec> caches = new LinkedHashMap<>();
+
+    @Data
+    public static class CacheSpec {
+        private CacheWeigher weigher = CacheWeigher.ITEM_COUNT;
+        /** Máximo de productos cacheados cuando weigher = ITEM_COUNT. */
+        private long maxItems = 10_000;
+        /** Presupuesto de heap cuando weigher = ESTIMATED_BYTES. */
+        private DataSize heapBudget = DataSize.ofMegabytes(16);
+        private Duration expireAfterWrite = Duration.ofMinutes(5);
+
+        public long maximumWeight() {
+            return weigher == CacheWeigher.ITEM_COUNT ? maxItems : heapBudget.toBytes();
+        }
+    }
+}
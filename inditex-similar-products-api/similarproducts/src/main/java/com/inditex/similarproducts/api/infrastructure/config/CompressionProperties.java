@@ -0,0 +1,26 @@
+package com.inditex.similarproducts.api.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Compresión negociada (br/gzip) de GET /product/{productId}/similar.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "similar-products.compression")
+public class CompressionProperties {
+    private boolean enabled = true;
+    /** Por debajo de este tamaño se responde sin comprimir. */
+    private DataSize minResponseSize = DataSize.ofBytes(1024);
+    private boolean brotli = true;
+    private int brotliQuality = 5;
+    private int gzipLevel = 6;
+    /** Memoria para respuestas ya comprimidas de listas completas; 0 lo desactiva. */
+    private DataSize precompressedBudget = DataSize.ofMegabytes(8);
+    private Duration precompressedExpireAfterAccess = Duration.ofMinutes(10);
+}
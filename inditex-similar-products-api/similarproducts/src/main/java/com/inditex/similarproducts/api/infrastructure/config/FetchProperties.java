@@ -0,0 +1,16 @@
+package com.inditex.similarproducts.api.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Carga perezosa cuando se pide una página (?limit/offset) que no está en caché.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "similar-products.fetch")
+public class FetchProperties {
+    /** Detalles que se piden de más, por si alguno falla (404/5xx) y hay que saltarlo. */
+    private int speculativeMargin = 2;
+}
@@ -0,0 +1,23 @@
+package com.inditex.similarproducts.api.infrastructure.config;
+
+import com.inditex.similarproducts.api.infrastructure.web.InternalTokenInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class InternalEndpointsConfig implements WebMvcConfigurer {
+
+    private final InternalTokenInterceptor internalTokenInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // antes que el control de admisión: una llamada sin credenciales no consume permiso
+        registry.addInterceptor(internalTokenInterceptor)
+                .addPathPatterns("/internal/**")
+                .order(Ordered.HIGHEST_PRECEDENCE);
+    }
+}
@@ -0,0 +1,16 @@
+package com.inditex.similarproducts.api.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Acceso a /internal/** (eventos de producto y endpoints entre pods).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "similar-products.internal")
+public class InternalEndpointsProperties {
+    /** Secreto compartido que se exige en la cabecera X-Internal-Token; vacío = /internal/** rechaza todo. */
+    private String token;
+}
@@ -0,0 +1,24 @@
+package com.inditex.similarproducts.api.infrastructure.config;
+
+import com.inditex.similarproducts.api.infrastructure.diagnostics.JfrDiagnosticsCollector;
+import com.inditex.similarproducts.api.infrastructure.diagnostics.VirtualThreadDiagnosticsEndpoint;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "similar-products.jfr", name = "enabled", matchIfMissing = true)
+public class JfrDiagnosticsConfig {
+
+    @Bean
+    public JfrDiagnosticsCollector jfrDiagnosticsCollector(JfrDiagnosticsProperties properties,
+                                                           MeterRegistry meterRegistry) {
+        return new JfrDiagnosticsCollector(properties, meterRegistry).start();
+    }
+
+    @Bean
+    public VirtualThreadDiagnosticsEndpoint virtualThreadDiagnosticsEndpoint(JfrDiagnosticsCollector collector) {
+        return new VirtualThreadDiagnosticsEndpoint(collector);
+    }
+}
@@ -0,0 +1,32 @@
+package com.inditex.similarproducts.api.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Diagnóstico de hilos virtuales con JFR en streaming dentro del propio proceso.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "similar-products.jfr")
+public class JfrDiagnosticsProperties {
+    private boolean enabled = true;
+    /** Solo se registran pinnings (jdk.VirtualThreadPinned) de al menos esta duración. */
+    private Duration pinnedThreshold = Duration.ofMillis(20);
+    /** Frames por pila de pinning, descontando los internos del planificador. */
+    private int stackDepth = 12;
+    /** Pilas distintas que se agregan; las nuevas por encima del límite solo se cuentan. */
+    private int maxTrackedStacks = 200;
+    /** Pilas que devuelve /actuator/vthreads, de más a menos pinnings. */
+    private int topStacks = 10;
+    /** Muestreo de jdk.ObjectAllocationSample (eventos por segundo) para la tasa de asignación. */
+    private int allocationSamplesPerSecond = 100;
+    /**
+     * Activa jdk.VirtualThreadStart/End para contar hilos virtuales arrancados menos terminados desde el
+     * arranque de la grabación (no el total de vivos); caro con mucho tráfico.
+     */
+    private boolean trackVirtualThreadLifecycle = false;
+}
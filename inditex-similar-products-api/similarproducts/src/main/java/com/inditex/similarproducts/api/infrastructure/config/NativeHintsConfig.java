@@ -0,0 +1,56 @@
+package com.inditex.similarproducts.api.infrastructure.config;
+
+import com.inditex.similarproducts.api.application.IncompleteProductList;
+import com.inditex.similarproducts.api.domain.Product;
+import com.inditex.similarproducts.api.domain.ProductChangedEvent;
+import com.inditex.similarproducts.api.infrastructure.cache.CachePolicyEndpoint;
+import com.inditex.similarproducts.api.infrastructure.client.EndpointTimeoutPolicy;
+import com.inditex.similarproducts.api.infrastructure.diagnostics.JfrDiagnosticsCollector;
+import com.inditex.similarproducts.api.infrastructure.diagnostics.PinningHotspots;
+import com.inditex.similarproducts.api.infrastructure.web.ErrorResponse;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.info.Contact;
+import io.swagger.v3.oas.models.info.Info;
+import io.swagger.v3.oas.models.info.License;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Hints de reflexión/recursos para Spring AOT y la imagen nativa.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.SimilarProductsRuntimeHints.class)
+public class NativeHintsConfig {
+
+    static class SimilarProductsRuntimeHints implements RuntimeHintsRegistrar {
+
+        private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // records que Jackson (de)serializa; las respuestas del mock se decodifican sin reflexión
+            bindingRegistrar.registerReflectionHints(hints.reflection(),
+                    Product.class,
+                    ProductChangedEvent.class,
+                    ErrorResponse.class,
+                    CachePolicyEndpoint.CachePolicyDescriptor.class,
+                    CachePolicyEndpoint.ProductTableUsage.class,
+                    EndpointTimeoutPolicy.TimeoutPolicyDescriptor.class,
+                    JfrDiagnosticsCollector.VirtualThreadDiagnostics.class,
+                    PinningHotspots.PinningHotspot.class);
+
+            // tipo que consulta el unless de @Cacheable en SimilarProductsService
+            hints.reflection().registerType(IncompleteProductList.class);
+
+            // springdoc: modelo OpenAPI (serializado con Jackson 2) y recursos de Swagger UI
+            bindingRegistrar.registerReflectionHints(hints.reflection(),
+                    OpenAPI.class, Info.class, Contact.class, License.class);
+            hints.resources().registerPattern("META-INF/resources/webjars/swagger-ui/**");
+            hints.resources().registerPattern("lib/*/libbrotli*");
+            hints.resources().registerPattern("META-INF/maven/org.webjars/swagger-ui/pom.properties");
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.inditex.similarproducts.api.infrastructure.config;
+
+import com.inditex.similarproducts.api.infrastructure.peer.ConsistentHashRing;
+import com.inditex.similarproducts.api.infrastructure.peer.PeerClient;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.RestClient;
+
+import java.time.Clock;
+
+@Configuration
+@ConditionalOnProperty(prefix = "similar-products.peers", name = "enabled", havingValue = "true")
+public class PeerConfig {
+
+    private final PeerProperties peerProperties;
+    private final InternalEndpointsProperties internalEndpointsProperties;
+
+    public PeerConfig(PeerProperties peerProperties, InternalEndpointsProperties internalEndpointsProperties) {
+        this.peerProperties = peerProperties;
+        this.internalEndpointsProperties = internalEndpointsProperties;
+        if (peerProperties.getSelf() == null || !peerProperties.getMembers().contains(peerProperties.getSelf())) {
+            throw new IllegalStateException("similar-products.peers.self must be one of similar-products.peers.members");
+        }
+        if (!StringUtils.hasText(internalEndpointsProperties.getToken())) {
+            throw new IllegalStateException("similar-products.internal.token is required when peers are enabled");
+        }
+    }
+
+    @Bean
+    public ConsistentHashRing peerRing() {
+        return new ConsistentHashRing(peerProperties.getMembers(), peerProperties.getVirtualNodes());
+    }
+
+    @Bean
+    public PeerClient peerClient() {
+        ConnectionConfig connectionConfig = ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(peerProperties.getConnectMs()))
+                .build();
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setResponseTimeout(Timeout.ofMilliseconds(peerProperties.getResponseMs()))
+                .build();
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                        .setDefaultConnectionConfig(connectionConfig)
+                        .build())
+                .setDefaultRequestConfig(requestConfig)
+                .build();
+
+        RestClient peerRestClient = RestClient.builder()
+                .requestFactory(new HttpComponentsClientHttpRequestFactory(httpClient))
+                .build();
+
+        return new PeerClient(peerRestClient, internalEndpointsProperties.getToken(), peerProperties.getDownBackoff(), Clock.systemUTC());
+    }
+}
@@ -0,0 +1,29 @@
+package com.inditex.similarproducts.api.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Caché distribuida entre pods (estilo groupcache): cada productId tiene un pod dueño.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "similar-products.peers")
+public class PeerProperties {
+    private boolean enabled = false;
+    /** URL base con la que el resto de pods ve a esta instancia; debe aparecer en members. */
+    private String self;
+    private List<String> members = new ArrayList<>();
+    private int virtualNodes = 128;
+    private int connectMs = 100;
+    private int responseMs = 1000;
+    /** Tiempo que un peer caído se ignora antes de volver a consultarlo. */
+    private Duration downBackoff = Duration.ofSeconds(10);
+    private long hotCopyMaxItems = 2_000;
+    private Duration hotCopyTtl = Duration.ofSeconds(30);
+}
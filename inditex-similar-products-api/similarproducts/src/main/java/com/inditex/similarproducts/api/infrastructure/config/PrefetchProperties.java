@@ -0,0 +1,26 @@
+package com.inditex.similarproducts.api.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Precarga de las listas de los primeros similares tras servir un producto.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "similar-products.prefetch")
+public class PrefetchProperties {
+    private boolean enabled = false;
+    /** Cuántos de los similares servidos (en orden) se precargan. */
+    private int topK = 3;
+    /** Precargas simultáneas como máximo; si no hay hueco se descartan, nunca se encolan. */
+    private int maxInFlight = 4;
+    /** Solo se precarga si el limitador de admisión está por debajo de esta ocupación. */
+    private double maxAdmissionUtilization = 0.5;
+    /** Tiempo durante el que una petición a un producto precargado cuenta como acierto. */
+    private Duration hitWindow = Duration.ofMinutes(5);
+    private long trackedMaxItems = 10_000;
+}
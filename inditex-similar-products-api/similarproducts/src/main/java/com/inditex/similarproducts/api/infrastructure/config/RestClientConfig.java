@@ -1,8 +1,16 @@
 package com.inditex.similarproducts.api.infrastructure.config;
 
+import com.inditex.similarproducts.api.infrastructure.client.DownstreamTimeouts;
+import com.inditex.similarproducts.api.infrastructure.client.LatencyRecordingInterceptor;
+import com.inditex.similarproducts.api.infrastructure.client.ReplicaBalancer;
+import com.inditex.similarproducts.api.infrastructure.client.ReplicaBalancingInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.config.ConnectionConfig;
 import org.apache.hc.client5.http.config.RequestConfig;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
 import org.apache.hc.core5.util.Timeout;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -10,6 +18,8 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
 
+import java.util.List;
+
 @Configuration
 public class RestClientConfig {
 
@@ -19,25 +29,61 @@ public class RestClientConfig {
         this.timeoutProps = timeoutProps;
     }
 
+    /**
+     * Sin réplicas configuradas el balanceador tiene una sola: simulado.base-url.
+     */
     @Bean
-    public RestClient simuladoRestClient(@Value("${simulado.base-url}") String baseUrl)
+    public ReplicaBalancer replicaBalancer(@Value("${simulado.base-url}") String baseUrl,
+                                           SimuladoBalancerProperties balancerProps,
+                                           MeterRegistry meterRegistry)
     {
+        List<String> replicas = balancerProps.getReplicas().isEmpty() ? List.of(baseUrl) : balancerProps.getReplicas();
+        return new ReplicaBalancer(replicas, balancerProps, meterRegistry);
+    }
 
-        RequestConfig requestConfig = RequestConfig.custom()
+    @Bean
+    public DownstreamTimeouts downstreamTimeouts(MeterRegistry meterRegistry) {
+        return new DownstreamTimeouts(timeoutProps, meterRegistry).start();
+    }
+
+    /**
+     * El responseTimeout se fija por petición según la política del endpoint (similarids / product).
+     */
+    @Bean
+    public RestClient simuladoRestClient(@Value("${simulado.base-url}") String baseUrl,
+                                         ReplicaBalancer replicaBalancer,
+                                         DownstreamTimeouts downstreamTimeouts)
+    {
+
+        ConnectionConfig connectionConfig = ConnectionConfig.custom()
                 .setConnectTimeout(Timeout.ofMilliseconds(timeoutProps.getConnectMs()))
+                .build();
+        RequestConfig requestConfig = RequestConfig.custom()
                 .setResponseTimeout(Timeout.ofMilliseconds(timeoutProps.getResponseMs()))
                 .build();
 
         CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                        .setDefaultConnectionConfig(connectionConfig)
+                        .build())
                 .setDefaultRequestConfig(requestConfig)
                 .build();
 
         HttpComponentsClientHttpRequestFactory requestFactory =
                 new HttpComponentsClientHttpRequestFactory(httpClient);
+        requestFactory.setHttpContextFactory((method, uri) -> {
+            HttpClientContext context = HttpClientContext.create();
+            context.setRequestConfig(RequestConfig.copy(requestConfig)
+                    .setResponseTimeout(Timeout.of(downstreamTimeouts.policyFor(uri).timeout()))
+                    .build());
+            return context;
+        });
 
         return RestClient.builder()
                 .baseUrl(baseUrl)
                 .requestFactory(requestFactory)
+                .requestInterceptor(new LatencyRecordingInterceptor(downstreamTimeouts))
+                .requestInterceptor(new ReplicaBalancingInterceptor(replicaBalancer, downstreamTimeouts))
                 .build();
     }
 }
@@ -0,0 +1,29 @@
+package com.inditex.similarproducts.api.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Balanceo en cliente entre réplicas del servicio de productos (P2C sobre EWMA de latencia).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "simulado.balancer")
+public class SimuladoBalancerProperties {
+    /** URLs base de las réplicas; si está vacío solo se usa simulado.base-url. */
+    private List<String> replicas = new ArrayList<>();
+    /** Constante de tiempo del EWMA: cuánto tarda en olvidarse una latencia. */
+    private Duration ewmaDecay = Duration.ofSeconds(10);
+    /** Fallos seguidos (5xx o error de red) que expulsan una réplica. */
+    private int consecutiveFailures = 5;
+    /** Expulsión base; crece con cada expulsión repetida hasta maxEjection. */
+    private Duration baseEjection = Duration.ofSeconds(30);
+    private Duration maxEjection = Duration.ofMinutes(5);
+    /** Nunca se expulsa más de este porcentaje de réplicas a la vez. */
+    private int maxEjectedPercent = 50;
+}
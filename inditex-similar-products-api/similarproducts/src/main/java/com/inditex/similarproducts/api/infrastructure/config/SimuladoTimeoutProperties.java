@@ -4,10 +4,38 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @Data
 @Component
 @ConfigurationProperties(prefix = "simulado.timeouts")
 public class SimuladoTimeoutProperties {
     private int connectMs;
     private int responseMs;
+    /**
+     * Política por endpoint del mock ({@code similarids}, {@code product} y {@code default} para el resto
+     * de rutas); sin entrada se usa responseMs.
+     */
+    private Map<String, EndpointTimeout> endpoints = new LinkedHashMap<>();
+
+    public enum Mode { STATIC, ADAPTIVE }
+
+    @Data
+    public static class EndpointTimeout {
+        private Mode mode = Mode.STATIC;
+        /** Timeout fijo en modo STATIC; si no se indica, responseMs. */
+        private Duration timeout;
+        /** Percentil de latencia observada (0-1) del que parte el modo ADAPTIVE. */
+        private double percentile = 0.99;
+        /** Margen sobre el percentil: timeout = percentil × multiplier, acotado a [floor, ceiling]. */
+        private double multiplier = 1.5;
+        private Duration floor = Duration.ofMillis(50);
+        private Duration ceiling = Duration.ofSeconds(6);
+        /** Ventana deslizante de latencias (se rota en 6 tramos). */
+        private Duration window = Duration.ofMinutes(1);
+        /** Por debajo de estas muestras en la ventana se aplica ceiling. */
+        private int minSamples = 100;
+    }
 }
@@ -0,0 +1,225 @@
+package com.inditex.similarproducts.api.infrastructure.diagnostics;
+
+import com.inditex.similarproducts.api.infrastructure.config.JfrDiagnosticsProperties;
+import com.inditex.similarproducts.api.infrastructure.diagnostics.PinningHotspots.PinningHotspot;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Recoge en streaming eventos JFR del propio proceso y los agrega en métricas:
+ * <ul>
+ *   <li>{@code jdk.VirtualThreadPinned}: hilo virtual bloqueado sin soltar su carrier (p. ej. dentro de
+ *       un {@code synchronized} de HttpClient 5). Timer {@code similar.jfr.vthread.pinned} y pilas en
+ *       {@link PinningHotspots}.</li>
+ *   <li>{@code jdk.VirtualThreadSubmitFailed}: el planificador no pudo aceptar un hilo virtual.</li>
+ *   <li>{@code jdk.GarbageCollection}: pausas por colector.</li>
+ *   <li>{@code jdk.ObjectAllocationSample}: bytes asignados (estimados por muestreo, sin pila).</li>
+ *   <li>{@code jdk.VirtualThreadStart/End} (opcional): hilos virtuales arrancados menos terminados desde
+ *       que empezó la grabación. Es una diferencia, no el total de vivos: los que ya existían y terminan
+ *       después la hacen negativa.</li>
+ * </ul>
+ * Los carriers montados y la cola del planificador solo se publican si la JVM expone
+ * {@code jdk.management:type=VirtualThreadScheduler} (JDK 24+).
+ */
+@Slf4j
+public class JfrDiagnosticsCollector implements AutoCloseable {
+
+    static final String PINNED = "jdk.VirtualThreadPinned";
+    static final String SUBMIT_FAILED = "jdk.VirtualThreadSubmitFailed";
+    static final String GARBAGE_COLLECTION = "jdk.GarbageCollection";
+    static final String ALLOCATION_SAMPLE = "jdk.ObjectAllocationSample";
+    static final String VIRTUAL_THREAD_START = "jdk.VirtualThreadStart";
+    static final String VIRTUAL_THREAD_END = "jdk.VirtualThreadEnd";
+
+    private static final String SCHEDULER_MBEAN = "jdk.management:type=VirtualThreadScheduler";
+    private static final List<String> SCHEDULER_ATTRIBUTES =
+            List.of("Parallelism", "PoolSize", "MountedVirtualThreadCount", "QueuedVirtualThreadCount");
+    // frames del propio mecanismo de aparcado, iguales en todas las pilas
+    private static final List<String> SCHEDULER_FRAME_PREFIXES = List.of(
+            "java.lang.VirtualThread.", "java.lang.Thread.", "jdk.internal.", "java.util.concurrent.locks.LockSupport.");
+
+    private final JfrDiagnosticsProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final PinningHotspots pinningHotspots;
+    private final Timer pinned;
+    private final Counter submitFailed;
+    private final Counter allocatedBytes;
+    private final AtomicLong virtualThreadDelta = new AtomicLong();
+    private final AtomicLong gcPauses = new AtomicLong();
+    private final AtomicLong gcPauseNanos = new AtomicLong();
+    private final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+    private RecordingStream stream;
+
+    public JfrDiagnosticsCollector(JfrDiagnosticsProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.pinningHotspots = new PinningHotspots(properties.getMaxTrackedStacks());
+        this.pinned = Timer.builder("similar.jfr.vthread.pinned").register(meterRegistry);
+        this.submitFailed = meterRegistry.counter("similar.jfr.vthread.submit.failed");
+        this.allocatedBytes = Counter.builder("similar.jfr.allocation").baseUnit("bytes").register(meterRegistry);
+        Gauge.builder("similar.jfr.vthread.pinned.untracked.stacks", pinningHotspots, PinningHotspots::untracked)
+             .register(meterRegistry);
+        if (properties.isTrackVirtualThreadLifecycle()) {
+            Gauge.builder("similar.jfr.vthread.live.delta", virtualThreadDelta, AtomicLong::get).register(meterRegistry);
+        }
+        if (schedulerMBean() != null) {
+            SCHEDULER_ATTRIBUTES.forEach(attribute ->
+                    Gauge.builder("similar.jfr.vthread.scheduler", this, c -> c.schedulerAttribute(attribute))
+                         .tag("attribute", attribute).register(meterRegistry));
+        }
+    }
+
+    /**
+     * Arranca la grabación en streaming; sin JFR disponible (p. ej. imagen nativa sin
+     * {@code --enable-monitoring=jfr}) solo lo deja registrado en el log.
+     */
+    public JfrDiagnosticsCollector start() {
+        if (!FlightRecorder.isAvailable()) {
+            log.warn("JFR is not available in this runtime; virtual thread diagnostics are disabled");
+            return this;
+        }
+        RecordingStream recording = new RecordingStream();
+        recording.setMaxAge(Duration.ofMinutes(1));
+        recording.enable(PINNED).withThreshold(properties.getPinnedThreshold()).withStackTrace();
+        recording.enable(SUBMIT_FAILED).withStackTrace();
+        recording.enable(GARBAGE_COLLECTION);
+        recording.enable(ALLOCATION_SAMPLE).with("throttle", properties.getAllocationSamplesPerSecond() + "/s")
+                 .withoutStackTrace();
+        recording.onEvent(PINNED, this::onPinned);
+        recording.onEvent(SUBMIT_FAILED, event -> submitFailed.increment());
+        recording.onEvent(GARBAGE_COLLECTION, this::onGarbageCollection);
+        recording.onEvent(ALLOCATION_SAMPLE, event -> allocatedBytes.increment(event.getLong("weight")));
+        if (properties.isTrackVirtualThreadLifecycle()) {
+            recording.enable(VIRTUAL_THREAD_START);
+            recording.enable(VIRTUAL_THREAD_END);
+            recording.onEvent(VIRTUAL_THREAD_START, event -> virtualThreadDelta.incrementAndGet());
+            recording.onEvent(VIRTUAL_THREAD_END, event -> virtualThreadDelta.decrementAndGet());
+        }
+        recording.startAsync();
+        stream = recording;
+        return this;
+    }
+
+    public boolean isRecording() {
+        return stream != null;
+    }
+
+    public PinningHotspots pinningHotspots() {
+        return pinningHotspots;
+    }
+
+    public VirtualThreadDiagnostics diagnostics() {
+        Map<String, Number> scheduler = new LinkedHashMap<>();
+        if (schedulerMBean() != null) {
+            SCHEDULER_ATTRIBUTES.forEach(attribute -> scheduler.put(attribute, schedulerAttribute(attribute)));
+        } else {
+            scheduler.put("Parallelism", Integer.getInteger("jdk.virtualThreadScheduler.parallelism",
+                                                            Runtime.getRuntime().availableProcessors()));
+        }
+        return new VirtualThreadDiagnostics(
+                isRecording(),
+                properties.getPinnedThreshold(),
+                pinned.count(),
+                Duration.ofNanos((long) pinned.totalTime(TimeUnit.NANOSECONDS)),
+                (long) submitFailed.count(),
+                properties.isTrackVirtualThreadLifecycle() ? virtualThreadDelta.get() : null,
+                scheduler,
+                gcPauses.get(),
+                Duration.ofNanos(gcPauseNanos.get()),
+                (long) allocatedBytes.count(),
+                pinningHotspots.untracked(),
+                pinningHotspots.top(properties.getTopStacks()));
+    }
+
+    void onPinned(RecordedEvent event) {
+        Duration duration = event.getDuration();
+        pinned.record(duration);
+        pinningHotspots.record(stackOf(event.getStackTrace()), duration.toNanos());
+    }
+
+    private void onGarbageCollection(RecordedEvent event) {
+        Duration pauses = event.getDuration("sumOfPauses");
+        gcPauses.incrementAndGet();
+        gcPauseNanos.addAndGet(pauses.toNanos());
+        meterRegistry.timer("similar.jfr.gc.pause", "gc", event.getString("name")).record(pauses);
+    }
+
+    private List<String> stackOf(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return List.of();
+        }
+        List<String> frames = new ArrayList<>(properties.getStackDepth());
+        boolean leading = true;
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String method = frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+            if (leading && SCHEDULER_FRAME_PREFIXES.stream().anyMatch(method::startsWith)) {
+                continue;
+            }
+            leading = false;
+            frames.add(frame.getLineNumber() > 0 ? method + ":" + frame.getLineNumber() : method);
+            if (frames.size() == properties.getStackDepth()) {
+                break;
+            }
+        }
+        return frames;
+    }
+
+    private ObjectName schedulerMBean() {
+        try {
+            ObjectName name = new ObjectName(SCHEDULER_MBEAN);
+            return mBeanServer.isRegistered(name) ? name : null;
+        } catch (JMException e) {
+            return null;
+        }
+    }
+
+    private double schedulerAttribute(String attribute) {
+        try {
+            return ((Number) mBeanServer.getAttribute(new ObjectName(SCHEDULER_MBEAN), attribute)).doubleValue();
+        } catch (JMException | ClassCastException e) {
+            return Double.NaN;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    public record VirtualThreadDiagnostics(
+            boolean recording,
+            Duration pinnedThreshold,
+            long pinnedEvents,
+            Duration pinnedTotal,
+            long submitFailed,
+            Long virtualThreadDelta,
+            Map<String, Number> scheduler,
+            long gcPauses,
+            Duration gcPauseTotal,
+            long allocatedBytes,
+            long untrackedPinnedStacks,
+            List<PinningHotspot> topPinnedStacks
+    ) {}
+}
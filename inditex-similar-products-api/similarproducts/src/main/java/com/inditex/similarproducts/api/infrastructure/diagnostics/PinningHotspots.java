@@ -0,0 +1,69 @@
+package com.inditex.similarproducts.api.infrastructure.diagnostics;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Agregado de pinnings de hilos virtuales por pila: cuántos, cuánto tiempo en total y el más largo.
+ * Acotado a {@code maxTrackedStacks} pilas distintas; el resto solo suma en {@link #untracked()}.
+ */
+public class PinningHotspots {
+
+    private final int maxTrackedStacks;
+    private final Map<List<String>, Hotspot> stacks = new ConcurrentHashMap<>();
+    private final LongAdder untracked = new LongAdder();
+
+    public PinningHotspots(int maxTrackedStacks) {
+        this.maxTrackedStacks = maxTrackedStacks;
+    }
+
+    public void record(List<String> stack, long durationNanos) {
+        Hotspot hotspot = stacks.get(stack);
+        if (hotspot == null) {
+            if (stacks.size() >= maxTrackedStacks) {
+                untracked.increment();
+                return;
+            }
+            hotspot = stacks.computeIfAbsent(List.copyOf(stack), key -> new Hotspot());
+        }
+        hotspot.count.increment();
+        hotspot.totalNanos.add(durationNanos);
+        hotspot.maxNanos.accumulate(durationNanos);
+    }
+
+    public List<PinningHotspot> top(int limit) {
+        return stacks.entrySet().stream()
+                     .map(entry -> entry.getValue().snapshot(entry.getKey()))
+                     .sorted(Comparator.comparingLong(PinningHotspot::count)
+                                       .thenComparing(PinningHotspot::total).reversed())
+                     .limit(limit)
+                     .toList();
+    }
+
+    public long untracked() {
+        return untracked.sum();
+    }
+
+    public void clear() {
+        stacks.clear();
+        untracked.reset();
+    }
+
+    private static final class Hotspot {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        private PinningHotspot snapshot(List<String> stack) {
+            return new PinningHotspot(stack, count.sum(), Duration.ofNanos(totalNanos.sum()),
+                                      Duration.ofNanos(maxNanos.get()));
+        }
+    }
+
+    public record PinningHotspot(List<String> stack, long count, Duration total, Duration max) {}
+}
@@ -0,0 +1,33 @@
+package com.inditex.similarproducts.api.infrastructure.diagnostics;
+
+import com.inditex.similarproducts.api.infrastructure.diagnostics.JfrDiagnosticsCollector.VirtualThreadDiagnostics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * /actuator/vthreads: pinnings, fallos del planificador, pausas de GC y asignación recogidos por JFR,
+ * con las pilas que más pinning provocan. DELETE vacía las pilas para empezar una medición limpia.
+ *
+ * <pre>
+ *   curl -X DELETE localhost:8081/actuator/vthreads && hey -z 30s localhost:5000/product/1/similar
+ *   curl localhost:8081/actuator/vthreads
+ * </pre>
+ */
+@Endpoint(id = "vthreads")
+@RequiredArgsConstructor
+public class VirtualThreadDiagnosticsEndpoint {
+
+    private final JfrDiagnosticsCollector collector;
+
+    @ReadOperation
+    public VirtualThreadDiagnostics diagnostics() {
+        return collector.diagnostics();
+    }
+
+    @DeleteOperation
+    public void resetPinnedStacks() {
+        collector.pinningHotspots().clear();
+    }
+}
@@ -0,0 +1,49 @@
+package com.inditex.similarproducts.api.infrastructure.peer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Anillo de hash consistente con nodos virtuales. Todos los pods con la misma lista de miembros
+ * eligen el mismo dueño para cada clave.
+ */
+public class ConsistentHashRing {
+
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+
+    public ConsistentHashRing(Collection<String> members, int virtualNodes) {
+        if (members.isEmpty()) {
+            throw new IllegalArgumentException("Peer ring needs at least one member");
+        }
+        for (String member : members) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(member + "#" + i), member);
+            }
+        }
+    }
+
+    public String ownerOf(String key) {
+        Map.Entry<Long, String> entry = ring.ceilingEntry(hash(key));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    /**
+     * FNV-1a de 64 bits con el finalizador de MurmurHash3 para repartir bien claves cortas.
+     */
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,159 @@
+package com.inditex.similarproducts.api.infrastructure.peer;
+
+import com.inditex.similarproducts.api.application.IncompleteProductList;
+import com.inditex.similarproducts.api.domain.Product;
+import com.inditex.similarproducts.api.infrastructure.web.RequestTimings;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+
+/**
+ * Decorador de {@link Cache} que reparte las claves entre pods.
+ *
+ * El pod dueño de una clave (según el {@link ConsistentHashRing}) la guarda en la caché principal.
+ * El resto de pods, ante un fallo local, se la piden al dueño y guardan solo una copia caliente
+ * pequeña y de TTL corto. Si el dueño no es alcanzable (o dice que la clave no es suya) se devuelve
+ * un fallo y el método {@code @Cacheable} carga en local: el resultado va a la copia caliente. Si el
+ * dueño responde 404 o 503 la excepción se propaga sin cargar en local. Una
+ * {@link IncompleteProductList} del dueño se sirve pero no se guarda como copia caliente.
+ */
+public class PeerAwareCache implements Cache {
+
+    private final Cache main;
+    private final Cache hotCopy;
+    private final ConsistentHashRing ring;
+    private final String self;
+    private final PeerClient peerClient;
+
+    public PeerAwareCache(Cache main, Cache hotCopy, ConsistentHashRing ring, String self, PeerClient peerClient) {
+        this.main = main;
+        this.hotCopy = hotCopy;
+        this.ring = ring;
+        this.self = self;
+        this.peerClient = peerClient;
+    }
+
+    @Override
+    public String getName() {
+        return main.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return main.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper local = main.get(key);
+        if (local != null || ownedLocally(key)) {
+            return local;
+        }
+
+        ValueWrapper hot = hotCopy.get(key);
+        if (hot != null) {
+            return hot;
+        }
+
+        Optional<List<Product>> remote = fetchFromOwner(key);
+        if (remote.isEmpty()) {
+            return null;
+        }
+        if (remote.get() instanceof IncompleteProductList) {
+            return new SimpleValueWrapper(remote.get());
+        }
+        hotCopy.put(key, remote.get());
+        ValueWrapper stored = hotCopy.get(key);
+        return stored != null ? stored : new SimpleValueWrapper(remote.get());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        return target(key).get(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        target(key).put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return target(key).putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        main.evict(key);
+        hotCopy.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evictedMain = main.evictIfPresent(key);
+        boolean evictedHot = hotCopy.evictIfPresent(key);
+        return evictedMain || evictedHot;
+    }
+
+    @Override
+    public void clear() {
+        main.clear();
+        hotCopy.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidatedMain = main.invalidate();
+        boolean invalidatedHot = hotCopy.invalidate();
+        return invalidatedMain || invalidatedHot;
+    }
+
+    /**
+     * Fase "peer" de Server-Timing: "owner" si respondió el dueño, "local" si se carga aquí, "error" si falló.
+     */
+    private Optional<List<Product>> fetchFromOwner(Object key) {
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            Optional<List<Product>> remote = peerClient.fetch(ring.ownerOf(key.toString()), key.toString());
+            outcome = remote.isPresent() ? "owner" : "local";
+            return remote;
+        } finally {
+            RequestTimings.record("peer", System.nanoTime() - start, outcome);
+        }
+    }
+
+    /**
+     * Caché local (principal o copia caliente) donde está la clave, sin consultar a otros pods.
+     */
+    public Cache localCacheFor(Object key) {
+        return target(key);
+    }
+
+    private Cache target(Object key) {
+        return ownedLocally(key) ? main : hotCopy;
+    }
+
+    private boolean ownedLocally(Object key) {
+        return PeerRequestContext.isForwarded() || self.equals(ring.ownerOf(key.toString()));
+    }
+}
@@ -0,0 +1,78 @@
+package com.inditex.similarproducts.api.infrastructure.peer;
+
+import com.inditex.similarproducts.api.application.IncompleteProductList;
+import com.inditex.similarproducts.api.application.SimilarProductsService;
+import com.inditex.similarproducts.api.domain.Product;
+import com.inditex.similarproducts.api.domain.ProductChangedEvent;
+import com.inditex.similarproducts.api.infrastructure.config.PeerProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Endpoints internos entre pods: los no dueños piden una lista al pod dueño, y los cambios de producto
+ * recibidos por un pod se reenvían al resto ({@link PeerEventForwarder}).
+ */
+@RestController
+@RequestMapping("/internal/peer")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "similar-products.peers", name = "enabled", havingValue = "true")
+public class PeerCacheController {
+
+    private final SimilarProductsService similarProductsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ConsistentHashRing peerRing;
+    private final PeerProperties peerProperties;
+
+    /**
+     * Solo atiende claves propias: si el anillo de quien pregunta no coincide con el de este pod responde
+     * 421 y el otro pod carga en local, en vez de llenar aquí una clave que no es nuestra. Una lista
+     * incompleta lleva {@link PeerClient#INCOMPLETE_HEADER} para que quien la pidió tampoco la guarde.
+     */
+    @GetMapping("/similar/{productId}")
+    public ResponseEntity<List<Product>> getSimilarProducts(
+            @RequestHeader(name = PeerClient.FORWARDED_HEADER, required = false) String forwarded,
+            @PathVariable String productId) {
+        requireForwarded(forwarded);
+        if (!peerProperties.getSelf().equals(peerRing.ownerOf(productId))) {
+            return ResponseEntity.status(HttpStatus.MISDIRECTED_REQUEST).build();
+        }
+
+        List<Product> products = PeerRequestContext.runAsForwarded(
+                () -> similarProductsService.getSimilarProducts(productId));
+        if (products instanceof IncompleteProductList) {
+            return ResponseEntity.ok().header(PeerClient.INCOMPLETE_HEADER, "true").body(products);
+        }
+        return ResponseEntity.ok(products);
+    }
+
+    @PostMapping("/events/product-changed")
+    public ResponseEntity<Void> productChanged(
+            @RequestHeader(name = PeerClient.FORWARDED_HEADER, required = false) String forwarded,
+            @RequestBody ProductChangedEvent event) {
+        requireForwarded(forwarded);
+        // se aplica en local y no se vuelve a reenviar
+        PeerRequestContext.runAsForwarded(() -> {
+            eventPublisher.publishEvent(event);
+            return null;
+        });
+        return ResponseEntity.accepted().build();
+    }
+
+    private static void requireForwarded(String forwarded) {
+        if (forwarded == null) {
+            throw new IllegalArgumentException(PeerClient.FORWARDED_HEADER + " header is required on peer endpoints");
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.inditex.similarproducts.api.infrastructure.peer;
+
+import com.inditex.similarproducts.api.application.IncompleteProductList;
+import com.inditex.similarproducts.api.domain.ExternalServiceException;
+import com.inditex.similarproducts.api.domain.Product;
+import com.inditex.similarproducts.api.domain.ProductChangedEvent;
+import com.inditex.similarproducts.api.domain.ProductNotFoundException;
+import com.inditex.similarproducts.api.infrastructure.web.AdmissionRejectedException;
+import com.inditex.similarproducts.api.infrastructure.web.InternalTokenInterceptor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pide a otro pod su lista cacheada. Si el pod no responde se marca caído durante
+ * {@code downBackoff} y mientras tanto no se le vuelve a preguntar.
+ */
+@Slf4j
+public class PeerClient {
+
+    public static final String FORWARDED_HEADER = "X-Peer-Forwarded";
+    public static final String INCOMPLETE_HEADER = "X-Peer-Incomplete";
+
+    private final RestClient peerRestClient;
+    private final String internalToken;
+    private final Duration downBackoff;
+    private final Clock clock;
+    private final Map<String, Instant> downUntil = new ConcurrentHashMap<>();
+
+    public PeerClient(RestClient peerRestClient, String internalToken, Duration downBackoff, Clock clock) {
+        this.peerRestClient = peerRestClient;
+        this.internalToken = internalToken;
+        this.downBackoff = downBackoff;
+        this.clock = clock;
+    }
+
+    /**
+     * Llama a: GET {peer}/internal/peer/similar/{id}.
+     *
+     * La respuesta del dueño se respeta: su 404 o su 503 se propagan tal cual para no repetir la carga
+     * (ni la sobrecarga) en este pod. Solo se devuelve vacío, y se carga en local, si el peer no es
+     * alcanzable o contesta que la clave no es suya (421). Si el dueño marca la lista como incompleta se
+     * devuelve como {@link IncompleteProductList}.
+     */
+    public Optional<List<Product>> fetch(String peer, String productId) {
+        if (isDown(peer)) {
+            return Optional.empty();
+        }
+
+        try {
+            ResponseEntity<List<Product>> response = peerRestClient.get()
+                    .uri(peer + "/internal/peer/similar/{id}", productId)
+                    .header(FORWARDED_HEADER, "true")
+                    .header(InternalTokenInterceptor.TOKEN_HEADER, internalToken)
+                    .retrieve()
+                    .toEntity(new ParameterizedTypeReference<List<Product>>() {
+                    });
+            List<Product> products = response.getBody();
+            if (products != null && response.getHeaders().containsHeader(INCOMPLETE_HEADER)) {
+                return Optional.of(new IncompleteProductList(products));
+            }
+            return Optional.ofNullable(products);
+        } catch (RestClientResponseException e) {
+            HttpStatusCode status = e.getStatusCode();
+            if (status.value() == HttpStatus.MISDIRECTED_REQUEST.value()) {
+                // los anillos de ambos pods no coinciden: se resuelve en local
+                log.debug("Peer {} does not own {}, filling locally", peer, productId);
+                return Optional.empty();
+            }
+            if (status.value() == HttpStatus.NOT_FOUND.value()) {
+                throw new ProductNotFoundException(productId);
+            }
+            if (status.value() == HttpStatus.SERVICE_UNAVAILABLE.value()) {
+                throw new AdmissionRejectedException(retryAfterSeconds(e));
+            }
+            throw new ExternalServiceException("Peer " + peer + " answered " + status.value() + " for " + productId);
+        } catch (RestClientException e) {
+            log.warn("Peer {} unavailable, falling back to local fill for {} s: {}",
+                     peer, downBackoff.toSeconds(), e.getMessage());
+            downUntil.put(peer, clock.instant().plus(downBackoff));
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Llama a: POST {peer}/internal/peer/events/product-changed. Un fallo solo se registra:
+     * la copia del peer caduca igualmente con su TTL.
+     */
+    public void forwardEvent(String peer, ProductChangedEvent event) {
+        if (isDown(peer)) {
+            log.warn("Peer {} is down, product change {} not forwarded", peer, event.productId());
+            return;
+        }
+
+        try {
+            peerRestClient.post()
+                    .uri(peer + "/internal/peer/events/product-changed")
+                    .header(FORWARDED_HEADER, "true")
+                    .header(InternalTokenInterceptor.TOKEN_HEADER, internalToken)
+                    .body(event)
+                    .retrieve()
+                    .toBodilessEntity();
+        } catch (RestClientException e) {
+            log.warn("Could not forward product change {} to peer {}: {}", event.productId(), peer, e.getMessage());
+        }
+    }
+
+    private static int retryAfterSeconds(RestClientResponseException e) {
+        HttpHeaders headers = e.getResponseHeaders();
+        String retryAfter = headers != null ? headers.getFirst(HttpHeaders.RETRY_AFTER) : null;
+        try {
+            return retryAfter != null ? Math.max(1, Integer.parseInt(retryAfter.trim())) : 1;
+        } catch (NumberFormatException ex) {
+            return 1;
+        }
+    }
+
+    public boolean isDown(String peer) {
+        Instant until = downUntil.get(peer);
+        if (until == null) {
+            return false;
+        }
+        if (clock.instant().isAfter(until)) {
+            downUntil.remove(peer, until);
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,34 @@
+package com.inditex.similarproducts.api.infrastructure.peer;
+
+import com.inditex.similarproducts.api.domain.ProductChangedEvent;
+import com.inditex.similarproducts.api.infrastructure.config.PeerProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reenvía cada {@link ProductChangedEvent} recibido por este pod al resto de miembros, para que
+ * invaliden también sus listas de dueño y sus copias calientes. Los eventos que ya llegan
+ * reenviados no se vuelven a reenviar.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "similar-products.peers", name = "enabled", havingValue = "true")
+public class PeerEventForwarder {
+
+    private final PeerProperties peerProperties;
+    private final PeerClient peerClient;
+
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        if (PeerRequestContext.isForwarded()) {
+            return;
+        }
+        peerProperties.getMembers().stream()
+                      .filter(member -> !member.equals(peerProperties.getSelf()))
+                      .forEach(member -> Thread.ofVirtual()
+                                               .name("peer-event-forward")
+                                               .start(() -> peerClient.forwardEvent(member, event)));
+    }
+}
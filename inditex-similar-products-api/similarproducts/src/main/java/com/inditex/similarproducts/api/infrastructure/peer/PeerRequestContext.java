@@ -0,0 +1,28 @@
+package com.inditex.similarproducts.api.infrastructure.peer;
+
+import java.util.function.Supplier;
+
+/**
+ * Marca el hilo que atiende una petición reenviada por otro pod: esa petición se resuelve siempre
+ * en local para que una diferencia de configuración entre pods no provoque bucles.
+ */
+public final class PeerRequestContext {
+
+    private static final ThreadLocal<Boolean> FORWARDED = new ThreadLocal<>();
+
+    private PeerRequestContext() {
+    }
+
+    public static <T> T runAsForwarded(Supplier<T> action) {
+        FORWARDED.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            FORWARDED.remove();
+        }
+    }
+
+    public static boolean isForwarded() {
+        return FORWARDED.get() != null;
+    }
+}
@@ -0,0 +1,73 @@
+package com.inditex.similarproducts.api.infrastructure.web;
+
+import com.inditex.similarproducts.api.infrastructure.cache.ProductCacheLookup;
+import com.inditex.similarproducts.api.infrastructure.config.AdmissionControlProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Aplica el {@link CoDelAdmissionLimiter} a /product/{productId}/similar.
+ * Las peticiones que se pueden servir desde caché no consumen permiso: nunca se descartan.
+ */
+@Component
+public class AdmissionControlInterceptor implements HandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".PERMIT";
+
+    private final CoDelAdmissionLimiter limiter;
+    private final ProductCacheLookup productCacheLookup;
+    private final int retryAfterSeconds;
+    private final Counter cacheBypass;
+
+    public AdmissionControlInterceptor(CoDelAdmissionLimiter limiter,
+                                       ProductCacheLookup productCacheLookup,
+                                       AdmissionControlProperties properties,
+                                       MeterRegistry meterRegistry) {
+        this.limiter = limiter;
+        this.productCacheLookup = productCacheLookup;
+        this.retryAfterSeconds = properties.getRetryAfterSeconds();
+        this.cacheBypass = Counter.builder("similar.admission.cache.bypass")
+                                  .description("Requests admitted without a permit because they are cached")
+                                  .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String productId = productId(request);
+        if (productId != null && productCacheLookup.contains(productId)) {
+            cacheBypass.increment();
+            return true;
+        }
+
+        long start = System.nanoTime();
+        boolean admitted = limiter.tryAcquire();
+        RequestTimings.record("admission", System.nanoTime() - start);
+        if (!admitted) {
+            throw new AdmissionRejectedException(retryAfterSeconds);
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            limiter.release();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String productId(HttpServletRequest request) {
+        Object variables = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        return variables instanceof Map<?, ?> map ? ((Map<String, String>) map).get("productId") : null;
+    }
+}
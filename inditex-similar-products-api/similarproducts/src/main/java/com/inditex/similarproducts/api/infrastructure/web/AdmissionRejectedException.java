@@ -0,0 +1,14 @@
+package com.inditex.similarproducts.api.infrastructure.web;
+
+import lombok.Getter;
+
+@Getter
+public class AdmissionRejectedException extends RuntimeException {
+
+    private final int retryAfterSeconds;
+
+    public AdmissionRejectedException(int retryAfterSeconds) {
+        super("Service overloaded, retry later");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,111 @@
+package com.inditex.similarproducts.api.infrastructure.web;
+
+import com.inditex.similarproducts.api.infrastructure.config.AdmissionControlProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limitador de concurrencia con descarte por retardo de cola (CoDel adaptativo).
+ *
+ * Mientras la cola se haya vaciado dentro del último intervalo, una petición puede esperar hasta
+ * {@code intervalMs}; si lleva más de un intervalo sin vaciarse se considera sobrecarga y solo se
+ * espera {@code targetDelayMs} antes de descartar.
+ */
+@Component
+public class CoDelAdmissionLimiter {
+
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final long targetNanos;
+    private final long intervalNanos;
+
+    private final Timer queueDelay;
+    private final Counter shed;
+
+    private volatile long lastEmptyNanos = System.nanoTime();
+
+    public CoDelAdmissionLimiter(AdmissionControlProperties properties, MeterRegistry meterRegistry) {
+        this.maxConcurrency = properties.getMaxConcurrency();
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.targetNanos = TimeUnit.MILLISECONDS.toNanos(properties.getTargetDelayMs());
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(properties.getIntervalMs());
+
+        this.queueDelay = Timer.builder("similar.admission.queue.delay")
+                               .description("Time spent waiting for an admission permit")
+                               .register(meterRegistry);
+        this.shed = Counter.builder("similar.admission.shed")
+                           .description("Requests rejected with 503 by admission control")
+                           .register(meterRegistry);
+        Gauge.builder("similar.admission.inflight", this, CoDelAdmissionLimiter::inFlight)
+             .description("Admitted requests currently fanning out to the downstream")
+             .register(meterRegistry);
+    }
+
+    /**
+     * Intenta obtener un permiso. Devuelve false si la petición debe descartarse.
+     */
+    public boolean tryAcquire() {
+        long start = System.nanoTime();
+        if (permits.tryAcquire()) {
+            lastEmptyNanos = start;
+            queueDelay.record(0, TimeUnit.NANOSECONDS);
+            return true;
+        }
+
+        long timeout = isOverloaded(start) ? targetNanos : intervalNanos;
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(timeout, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        long now = System.nanoTime();
+        long waited = now - start;
+        queueDelay.record(waited, TimeUnit.NANOSECONDS);
+
+        if (!acquired) {
+            shed.increment();
+            return false;
+        }
+        if (waited <= targetNanos) {
+            lastEmptyNanos = now;
+        }
+        return true;
+    }
+
+    /**
+     * Permiso para trabajo opcional (p. ej. precarga): solo si hay uno libre y nadie espera en cola.
+     * No espera, ni cuenta como descarte ni como retardo de cola.
+     */
+    public boolean tryAcquireIfIdle() {
+        return !permits.hasQueuedThreads() && permits.tryAcquire();
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public boolean isOverloaded() {
+        return isOverloaded(System.nanoTime());
+    }
+
+    public int inFlight() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    public int maxConcurrency() {
+        return maxConcurrency;
+    }
+
+    private boolean isOverloaded(long now) {
+        return now - lastEmptyNanos > intervalNanos;
+    }
+}
@@ -0,0 +1,63 @@
+package com.inditex.similarproducts.api.infrastructure.web;
+
+import java.util.Locale;
+
+/**
+ * Codificaciones soportadas en la respuesta, en orden de preferencia ante igual q.
+ */
+public enum ContentCoding {
+    BROTLI("br"),
+    GZIP("gzip"),
+    IDENTITY("identity");
+
+    private final String token;
+
+    ContentCoding(String token) {
+        this.token = token;
+    }
+
+    public String token() {
+        return token;
+    }
+
+    /**
+     * Elige la codificación aceptada con mayor q ({@code Accept-Encoding: br;q=1.0, gzip;q=0.8}).
+     */
+    public static ContentCoding negotiate(String acceptEncoding, boolean brotliAvailable) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return IDENTITY;
+        }
+
+        ContentCoding best = IDENTITY;
+        double bestQuality = 0;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.split(";");
+            String name = tokens[0].trim().toLowerCase(Locale.ROOT);
+            double quality = quality(tokens);
+            for (ContentCoding coding : new ContentCoding[]{BROTLI, GZIP}) {
+                boolean matches = coding.token.equals(name) || "*".equals(name);
+                boolean supported = coding != BROTLI || brotliAvailable;
+                if (matches && supported && (quality > bestQuality
+                        || quality == bestQuality && quality > 0 && coding.ordinal() < best.ordinal())) {
+                    best = coding;
+                    bestQuality = quality;
+                }
+            }
+        }
+        return best;
+    }
+
+    private static double quality(String[] tokens) {
+        for (int i = 1; i < tokens.length; i++) {
+            String parameter = tokens[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,8 @@
+package com.inditex.similarproducts.api.infrastructure.web;
+
+public class InternalAccessDeniedException extends RuntimeException {
+
+    public InternalAccessDeniedException() {
+        super("A valid " + InternalTokenInterceptor.TOKEN_HEADER + " header is required on internal endpoints");
+    }
+}
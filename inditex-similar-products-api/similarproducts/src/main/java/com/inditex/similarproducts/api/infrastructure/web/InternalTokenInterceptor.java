@@ -0,0 +1,40 @@
+package com.inditex.similarproducts.api.infrastructure.web;
+
+import com.inditex.similarproducts.api.infrastructure.config.InternalEndpointsProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Exige el secreto compartido de {@link InternalEndpointsProperties} en /internal/**. Sin secreto
+ * configurado no se acepta ninguna llamada: los endpoints internos comparten puerto con la API pública.
+ */
+@Component
+public class InternalTokenInterceptor implements HandlerInterceptor {
+
+    public static final String TOKEN_HEADER = "X-Internal-Token";
+
+    private final byte[] token;
+
+    public InternalTokenInterceptor(InternalEndpointsProperties properties) {
+        this.token = StringUtils.hasText(properties.getToken())
+                ? properties.getToken().getBytes(StandardCharsets.UTF_8)
+                : null;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String presented = request.getHeader(TOKEN_HEADER);
+        // comparación en tiempo constante para no filtrar el secreto por latencia
+        if (token == null || presented == null
+                || !MessageDigest.isEqual(token, presented.getBytes(StandardCharsets.UTF_8))) {
+            throw new InternalAccessDeniedException();
+        }
+        return true;
+    }
+}
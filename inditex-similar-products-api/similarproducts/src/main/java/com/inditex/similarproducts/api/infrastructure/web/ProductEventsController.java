@@ -0,0 +1,36 @@
+package com.inditex.similarproducts.api.infrastructure.web;
+
+import com.inditex.similarproducts.api.domain.ProductChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Entrada HTTP de eventos de cambio de producto. Los publica en proceso para el
+ * {@link com.inditex.similarproducts.api.application.ProductInvalidationService}.
+ */
+@RestController
+@RequestMapping("/internal/events")
+@RequiredArgsConstructor
+public class ProductEventsController {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostMapping("/product-changed")
+    public ResponseEntity<Void> productChanged(@RequestBody ProductChangedEvent event) {
+        if (!StringUtils.hasText(event.productId())) {
+            throw new IllegalArgumentException("Product ID is required");
+        }
+        if (event.type() == null) {
+            throw new IllegalArgumentException("Event type is required");
+        }
+
+        eventPublisher.publishEvent(event);
+        return ResponseEntity.accepted().build();
+    }
+}
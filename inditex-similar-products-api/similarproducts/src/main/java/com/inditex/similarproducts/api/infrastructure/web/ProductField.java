@@ -0,0 +1,55 @@
+package com.inditex.similarproducts.api.infrastructure.web;
+
+import com.inditex.similarproducts.api.domain.Product;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Campos de {@link Product} seleccionables con {@code ?fields=id,price}.
+ */
+public enum ProductField {
+    ID("id", Product::id),
+    NAME("name", Product::name),
+    PRICE("price", Product::price),
+    AVAILABILITY("availability", Product::availability);
+
+    private static final Set<ProductField> ALL = Collections.unmodifiableSet(EnumSet.allOf(ProductField.class));
+
+    private final String jsonName;
+    private final Function<Product, Object> accessor;
+
+    ProductField(String jsonName, Function<Product, Object> accessor) {
+        this.jsonName = jsonName;
+        this.accessor = accessor;
+    }
+
+    public String jsonName() {
+        return jsonName;
+    }
+
+    public Object valueOf(Product product) {
+        return accessor.apply(product);
+    }
+
+    /**
+     * Sin parámetro (o vacío) se devuelven todos los campos; un nombre desconocido es un 400.
+     */
+    public static Set<ProductField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        EnumSet<ProductField> selected = EnumSet.noneOf(ProductField.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            selected.add(Arrays.stream(values())
+                               .filter(field -> field.jsonName.equals(trimmed))
+                               .findFirst()
+                               .orElseThrow(() -> new IllegalArgumentException("Unknown product field: " + trimmed)));
+        }
+        return selected.size() == ALL.size() ? ALL : Collections.unmodifiableSet(selected);
+    }
+}
@@ -0,0 +1,68 @@
+package com.inditex.similarproducts.api.infrastructure.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Fases medidas durante una petición, para la cabecera {@code Server-Timing}.
+ *
+ * Solo existe si el {@link ServerTimingFilter} está activo; si no, {@link #record} no hace nada.
+ * Se accede desde el hilo de la petición (vía {@link RequestContextHolder}). Si una fase se anota
+ * varias veces (p. ej. caché principal y copia caliente) las duraciones se suman y queda la última
+ * descripción.
+ */
+public class RequestTimings {
+
+    private static final String ATTRIBUTE = RequestTimings.class.getName();
+
+    private final Map<String, Metric> metrics = new LinkedHashMap<>();
+
+    static RequestTimings bind(HttpServletRequest request) {
+        RequestTimings timings = new RequestTimings();
+        request.setAttribute(ATTRIBUTE, timings);
+        return timings;
+    }
+
+    static RequestTimings from(HttpServletRequest request) {
+        return (RequestTimings) request.getAttribute(ATTRIBUTE);
+    }
+
+    public static void record(String name, long nanos) {
+        record(name, nanos, null);
+    }
+
+    public static void record(String name, long nanos, String description) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null
+                && attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof RequestTimings timings) {
+            timings.add(name, nanos, description);
+        }
+    }
+
+    public synchronized void add(String name, long nanos, String description) {
+        metrics.merge(name, new Metric(nanos / 1_000_000.0, description), Metric::plus);
+    }
+
+    public synchronized String toHeaderValue() {
+        return metrics.entrySet().stream()
+                      .map(entry -> entry.getValue().format(entry.getKey()))
+                      .collect(Collectors.joining(", "));
+    }
+
+    private record Metric(double durationMs, String description) {
+        Metric plus(Metric next) {
+            return new Metric(durationMs + next.durationMs, next.description != null ? next.description : description);
+        }
+
+        String format(String name) {
+            String value = name + ";dur=" + String.format(Locale.ROOT, "%.1f", durationMs);
+            return description != null ? value + ";desc=\"" + description + "\"" : value;
+        }
+    }
+}
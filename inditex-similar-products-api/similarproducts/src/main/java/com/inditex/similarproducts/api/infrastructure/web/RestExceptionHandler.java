@@ -6,10 +6,12 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.servlet.resource.NoResourceFoundException;
 
 import java.util.concurrent.CompletionException;
@@ -39,6 +41,34 @@ public class RestExceptionHandler {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
     }
 
+    @ExceptionHandler(AdmissionRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleAdmissionRejected(AdmissionRejectedException ex,
+                                                                 HttpServletRequest request)
+    {
+        log.warn("Request shed by admission control: {}", request.getRequestURI());
+
+        ErrorResponse errorResponse = ErrorResponse.of(HttpStatus.SERVICE_UNAVAILABLE.value(), "Service Unavailable",
+                                                        ex.getMessage(),
+                                                        request.getRequestURI());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                             .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                             .body(errorResponse);
+    }
+
+    @ExceptionHandler(InternalAccessDeniedException.class)
+    public ResponseEntity<ErrorResponse> handleInternalAccessDenied(InternalAccessDeniedException ex,
+                                                                    HttpServletRequest request)
+    {
+        log.warn("Unauthenticated call to internal endpoint: {}", request.getRequestURI());
+
+        ErrorResponse errorResponse = ErrorResponse.of(HttpStatus.UNAUTHORIZED.value(), "Unauthorized",
+                                                        ex.getMessage(),
+                                                        request.getRequestURI());
+
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errorResponse);
+    }
+
     @ExceptionHandler(ConstraintViolationException.class)
     public ResponseEntity<ErrorResponse> handleConstraintViolation(ConstraintViolationException ex,
                                                                    HttpServletRequest request)
@@ -76,6 +106,25 @@ public class RestExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
+    /**
+     * Parámetros que no se pueden convertir a su tipo (ej: ?limit=abc) son un error del cliente, no un 500.
+     */
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleTypeMismatch(MethodArgumentTypeMismatchException ex,
+                                                            HttpServletRequest request)
+    {
+        log.warn("Invalid parameter {}: {}", ex.getName(), ex.getValue());
+
+        ErrorResponse errorResponse = ErrorResponse.of(
+                HttpStatus.BAD_REQUEST.value(),
+                "Bad Request",
+                ex.getName() + " has an invalid value: " + ex.getValue(),
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
     /**
      * Maneja NoResourceFoundException cuando la URL tiene un path variable vacío (ej: /product//similar).
      * Spring no mapea esto al controller, pero nosotros lo convertimos a 400 Bad Request si es nuestro endpoint.
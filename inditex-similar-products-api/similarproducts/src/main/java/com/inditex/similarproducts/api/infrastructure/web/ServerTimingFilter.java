@@ -0,0 +1,49 @@
+package com.inditex.similarproducts.api.infrastructure.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+/**
+ * Añade {@code Server-Timing} a GET /product/{productId}/similar (opt-in con
+ * similar-products.server-timing.enabled). El cuerpo se bufferiza para poder medir la serialización
+ * antes de enviar las cabeceras.
+ */
+@Component
+@ConditionalOnProperty(prefix = "similar-products.server-timing", name = "enabled", havingValue = "true")
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    static final String SERIALIZATION_START = ServerTimingFilter.class.getName() + ".SERIALIZATION_START";
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().matches("/product/[^/]+/similar");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        RequestTimings timings = RequestTimings.bind(request);
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+
+        try {
+            chain.doFilter(request, wrapper);
+        } finally {
+            long end = System.nanoTime();
+            if (request.getAttribute(SERIALIZATION_START) instanceof Long serializationStart) {
+                timings.add("serialization", end - serializationStart, null);
+            }
+            timings.add("total", end - start, null);
+            wrapper.setHeader("Server-Timing", timings.toHeaderValue());
+            wrapper.copyBodyToResponse();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.inditex.similarproducts.api.infrastructure.web;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Marca el inicio de la serialización del cuerpo para la fase "serialization" de Server-Timing.
+ */
+@ControllerAdvice
+public class ServerTimingResponseBodyAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest
+                && RequestTimings.from(servletRequest.getServletRequest()) != null) {
+            servletRequest.getServletRequest().setAttribute(ServerTimingFilter.SERIALIZATION_START, System.nanoTime());
+        }
+        return body;
+    }
+}
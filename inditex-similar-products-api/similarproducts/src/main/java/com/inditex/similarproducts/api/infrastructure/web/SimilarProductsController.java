@@ -1,15 +1,24 @@
 package com.inditex.similarproducts.api.infrastructure.web;
 
+import com.inditex.similarproducts.api.application.PredictivePrefetcher;
 import com.inditex.similarproducts.api.application.SimilarProductsService;
 import com.inditex.similarproducts.api.domain.Product;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/product")
@@ -19,13 +28,44 @@ import java.util.List;
 public class SimilarProductsController {
 
     private final SimilarProductsService similarProductsService;
+    private final SimilarProductsResponseEncoder responseEncoder;
+    private final PredictivePrefetcher predictivePrefetcher;
 
     @GetMapping("/{productId}/similar")
-    public ResponseEntity<List<Product>> getSimilarProducts(
-            @PathVariable @NotBlank(message = "Product ID is required") String productId) {
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+            array = @ArraySchema(schema = @Schema(implementation = Product.class))))
+    public ResponseEntity<byte[]> getSimilarProducts(
+            @PathVariable @NotBlank(message = "Product ID is required") String productId,
+            @RequestParam(required = false) @Min(value = 1, message = "limit must be at least 1") Integer limit,
+            @RequestParam(defaultValue = "0") @Min(value = 0, message = "offset must not be negative") int offset,
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
 
-        List<Product> products = similarProductsService.getSimilarProducts(productId);
-        return ResponseEntity.ok(products);
+        Set<ProductField> projection = ProductField.parse(fields);
+        ContentCoding coding = responseEncoder.negotiate(acceptEncoding);
+
+        predictivePrefetcher.onRequested(productId);
+
+        // sin limit se carga (y cachea) la lista completa
+        List<Product> products;
+        SimilarProductsResponseEncoder.EncodedBody body;
+        if (limit == null) {
+            products = similarProductsService.getSimilarProducts(productId);
+            body = offset == 0
+                    ? responseEncoder.encodeCached(productId, products, projection, coding)
+                    : responseEncoder.encode(products.stream().skip(offset).toList(), projection, coding);
+        } else {
+            products = similarProductsService.getSimilarProducts(productId, offset, limit);
+            body = responseEncoder.encode(products, projection, coding);
+        }
+        predictivePrefetcher.onServed(products);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                                                            .contentType(MediaType.APPLICATION_JSON)
+                                                            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (body.coding() != ContentCoding.IDENTITY) {
+            response.header(HttpHeaders.CONTENT_ENCODING, body.coding().token());
+        }
+        return response.body(body.body());
     }
 }
-
@@ -0,0 +1,165 @@
+package com.inditex.similarproducts.api.infrastructure.web;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.inditex.similarproducts.api.domain.Product;
+import com.inditex.similarproducts.api.infrastructure.cache.CompactProductList;
+import com.inditex.similarproducts.api.infrastructure.config.CompressionProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serializa (con proyección de campos) y comprime la respuesta de similares.
+ *
+ * Las listas completas, que vienen de la caché como {@link CompactProductList}, guardan además sus bytes
+ * comprimidos: mientras la lista sea la misma instancia y no cambie ninguno de sus productos
+ * ({@link CompactProductList#version()}), no se vuelve a comprimir. Solo se guarda una referencia débil
+ * a la lista, para no retenerla cuando sale de la caché.
+ */
+@Component
+@Slf4j
+public class SimilarProductsResponseEncoder {
+
+    private final JsonMapper jsonMapper;
+    private final CompressionProperties properties;
+    private final boolean brotliAvailable;
+    private final Cache<PrecompressedKey, Precompressed> precompressed;
+
+    public SimilarProductsResponseEncoder(JsonMapper jsonMapper,
+                                          CompressionProperties properties,
+                                          MeterRegistry meterRegistry) {
+        this.jsonMapper = jsonMapper;
+        this.properties = properties;
+        this.brotliAvailable = properties.isBrotli() && brotliLoaded();
+        this.precompressed = Caffeine.newBuilder()
+                .maximumWeight(properties.getPrecompressedBudget().toBytes())
+                .<PrecompressedKey, Precompressed>weigher((key, value) -> value.body().length)
+                .expireAfterAccess(properties.getPrecompressedExpireAfterAccess())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, precompressed, "similarPrecompressed");
+    }
+
+    public ContentCoding negotiate(String acceptEncoding) {
+        return properties.isEnabled() ? ContentCoding.negotiate(acceptEncoding, brotliAvailable) : ContentCoding.IDENTITY;
+    }
+
+    public EncodedBody encode(List<Product> products, Set<ProductField> fields, ContentCoding coding) {
+        long start = System.nanoTime();
+        byte[] json = serialize(products, fields);
+        EncodedBody body = compress(json, coding);
+        RequestTimings.record("encode", System.nanoTime() - start, body.coding().token());
+        return body;
+    }
+
+    /**
+     * Igual que {@link #encode} pero reutilizando los bytes comprimidos de la misma lista cacheada.
+     */
+    public EncodedBody encodeCached(String productId, List<Product> products, Set<ProductField> fields,
+                                    ContentCoding coding) {
+        // una lista que no es compacta aún no viene de la caché (primer fallo): no hay nada que reutilizar
+        if (coding == ContentCoding.IDENTITY || properties.getPrecompressedBudget().toBytes() == 0
+                || !(products instanceof CompactProductList compact)) {
+            return encode(products, fields, coding);
+        }
+
+        PrecompressedKey key = new PrecompressedKey(productId, fields, coding);
+        long version = compact.version();
+        Precompressed hit = precompressed.getIfPresent(key);
+        if (hit != null && hit.source().refersTo(compact) && hit.version() == version) {
+            RequestTimings.record("encode", 0, "precompressed");
+            return new EncodedBody(hit.body(), hit.coding());
+        }
+
+        // la versión se lee antes de serializar: si cambia a mitad, la entrada queda ya obsoleta
+        EncodedBody body = encode(compact, fields, coding);
+        precompressed.put(key, new Precompressed(new WeakReference<>(compact), version, body.body(), body.coding()));
+        return body;
+    }
+
+    private byte[] serialize(List<Product> products, Set<ProductField> fields) {
+        if (fields.size() == ProductField.values().length) {
+            return jsonMapper.writeValueAsBytes(products);
+        }
+        List<Map<String, Object>> projected = products.stream().map(product -> {
+            Map<String, Object> values = new LinkedHashMap<>();
+            fields.forEach(field -> values.put(field.jsonName(), field.valueOf(product)));
+            return values;
+        }).toList();
+        return jsonMapper.writeValueAsBytes(projected);
+    }
+
+    private EncodedBody compress(byte[] json, ContentCoding coding) {
+        if (coding == ContentCoding.IDENTITY || json.length < properties.getMinResponseSize().toBytes()) {
+            return new EncodedBody(json, ContentCoding.IDENTITY);
+        }
+        try {
+            return switch (coding) {
+                case BROTLI -> new EncodedBody(
+                        Encoder.compress(json, new Encoder.Parameters().setQuality(properties.getBrotliQuality())),
+                        ContentCoding.BROTLI);
+                case GZIP -> new EncodedBody(gzip(json), ContentCoding.GZIP);
+                case IDENTITY -> new EncodedBody(json, ContentCoding.IDENTITY);
+            };
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private byte[] gzip(byte[] json) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new LeveledGzipOutputStream(out, properties.getGzipLevel())) {
+            gzip.write(json);
+        }
+        return out.toByteArray();
+    }
+
+    private static boolean brotliLoaded() {
+        try {
+            if (Brotli4jLoader.isAvailable()) {
+                return true;
+            }
+            log.warn("Brotli native library not available, only gzip will be offered", Brotli4jLoader.getUnavailabilityCause());
+        } catch (LinkageError e) {
+            log.warn("Brotli native library not available, only gzip will be offered", e);
+        }
+        return false;
+    }
+
+    public record EncodedBody(byte[] body, ContentCoding coding) {
+    }
+
+    private record PrecompressedKey(String productId, Set<ProductField> fields, ContentCoding coding) {
+    }
+
+    private record Precompressed(WeakReference<CompactProductList> source, long version, byte[] body,
+                                 ContentCoding coding) {
+    }
+
+    /**
+     * {@link GZIPOutputStream} no expone el nivel de compresión: su {@code Deflater} es protegido.
+     */
+    private static final class LeveledGzipOutputStream extends GZIPOutputStream {
+
+        LeveledGzipOutputStream(OutputStream out, int level) throws IOException {
+            super(out);
+            def.setLevel(level);
+        }
+    }
+}
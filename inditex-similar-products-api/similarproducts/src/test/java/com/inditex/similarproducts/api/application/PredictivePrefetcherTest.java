@@ -0,0 +1,161 @@
+package com.inditex.similarproducts.api.application;
+
+import com.inditex.similarproducts.api.domain.Product;
+import com.inditex.similarproducts.api.infrastructure.cache.ProductCacheLookup;
+import com.inditex.similarproducts.api.infrastructure.config.AdmissionControlProperties;
+import com.inditex.similarproducts.api.infrastructure.config.PrefetchProperties;
+import com.inditex.similarproducts.api.infrastructure.web.CoDelAdmissionLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PredictivePrefetcherTest {
+
+    @Mock
+    private SimilarProductsService similarProductsService;
+
+    @Mock
+    private ProductCacheLookup productCacheLookup;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CoDelAdmissionLimiter limiter;
+    private PredictivePrefetcher prefetcher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        AdmissionControlProperties admission = new AdmissionControlProperties();
+        admission.setMaxConcurrency(2);
+        limiter = new CoDelAdmissionLimiter(admission, meterRegistry);
+
+        PrefetchProperties properties = new PrefetchProperties();
+        properties.setEnabled(true);
+        properties.setTopK(3);
+        prefetcher = new PredictivePrefetcher(similarProductsService, productCacheLookup, limiter,
+                                              properties, meterRegistry);
+    }
+
+    @Test
+    void shouldPrefetchTopKThatAreNotCached() {
+        // GIVEN: se sirven 4 similares y el segundo ya está en caché
+        when(productCacheLookup.contains(anyString())).thenReturn(false);
+        when(productCacheLookup.contains("3")).thenReturn(true);
+
+        // WHEN
+        prefetcher.onServed(products("2", "3", "4", "100"));
+
+        // THEN: solo se precargan los primeros 3 que no están en caché
+        verify(similarProductsService, timeout(1000)).getSimilarProducts("2");
+        verify(similarProductsService, timeout(1000)).getSimilarProducts("4");
+        verify(similarProductsService, never()).getSimilarProducts("3");
+        verify(similarProductsService, never()).getSimilarProducts("100");
+        assertThat(meterRegistry.counter("similar.prefetch.skipped", "reason", "cached").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCountHitWhenPrefetchedProductIsRequested() throws InterruptedException {
+        // GIVEN: "2" se ha precargado
+        prefetcher.onServed(products("2"));
+        awaitCompleted(1);
+
+        // WHEN: el usuario abre "2" (dos veces)
+        prefetcher.onRequested("2");
+        prefetcher.onRequested("2");
+
+        // THEN: cuenta un único acierto
+        assertThat(meterRegistry.counter("similar.prefetch.outcome", "result", "hit").count()).isEqualTo(1);
+        assertThat(meterRegistry.get("similar.prefetch.hit.ratio").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldSkipWhenAdmissionLimiterIsBusy() {
+        // GIVEN: la mitad de los permisos de admisión ya están ocupados
+        assertThat(limiter.tryAcquire()).isTrue();
+
+        // WHEN
+        prefetcher.onServed(products("2"));
+
+        // THEN: no se precarga nada
+        verifyNoInteractions(similarProductsService);
+        assertThat(meterRegistry.counter("similar.prefetch.skipped", "reason", "capacity").count()).isEqualTo(1);
+        limiter.release();
+    }
+
+    @Test
+    void shouldNotPrefetchTheSameProductTwiceWhileInFlight() throws InterruptedException {
+        // GIVEN: la precarga de "2" se queda bloqueada
+        CountDownLatch release = new CountDownLatch(1);
+        when(similarProductsService.getSimilarProducts("2")).thenAnswer(invocation -> {
+            release.await();
+            return List.of();
+        });
+        prefetcher.onServed(products("2"));
+        verify(similarProductsService, timeout(1000)).getSimilarProducts("2");
+        assertThat(limiter.inFlight()).isEqualTo(1);
+
+        // WHEN: otra respuesta vuelve a sugerir "2"
+        prefetcher.onServed(products("2"));
+        release.countDown();
+
+        // THEN: se descarta como en curso y, al terminar, devuelve el permiso de admisión
+        assertThat(meterRegistry.counter("similar.prefetch.skipped", "reason", "in_flight").count()).isEqualTo(1);
+        verify(similarProductsService, times(1)).getSimilarProducts("2");
+        awaitCompleted(1);
+        for (int i = 0; i < 100 && limiter.inFlight() > 0; i++) {
+            Thread.sleep(10);
+        }
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    @Test
+    void shouldInterruptPrefetchesAndRejectNewOnesOnShutdown() throws InterruptedException {
+        // GIVEN: la precarga de "2" se queda bloqueada
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(similarProductsService.getSimilarProducts("2")).thenAnswer(invocation -> {
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return List.of();
+        });
+        prefetcher.onServed(products("2"));
+        verify(similarProductsService, timeout(1000)).getSimilarProducts("2");
+
+        // WHEN: se para la aplicación y llega otra respuesta
+        prefetcher.shutdown();
+        prefetcher.onServed(products("3"));
+
+        // THEN: la precarga en curso se interrumpe, la nueva se descarta y no queda ningún permiso ocupado
+        assertThat(interrupted.await(1, TimeUnit.SECONDS)).isTrue();
+        verify(similarProductsService, never()).getSimilarProducts("3");
+        assertThat(meterRegistry.counter("similar.prefetch.skipped", "reason", "shutdown").count()).isEqualTo(1);
+        for (int i = 0; i < 100 && limiter.inFlight() > 0; i++) {
+            Thread.sleep(10);
+        }
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    private void awaitCompleted(int expected) throws InterruptedException {
+        for (int i = 0; i < 100 && meterRegistry.counter("similar.prefetch.completed").count() < expected; i++) {
+            Thread.sleep(10);
+        }
+        assertThat(meterRegistry.counter("similar.prefetch.completed").count()).isEqualTo(expected);
+    }
+
+    private static List<Product> products(String... ids) {
+        return Arrays.stream(ids).map(id -> new Product(id, "Item", 9.99, true)).toList();
+    }
+}
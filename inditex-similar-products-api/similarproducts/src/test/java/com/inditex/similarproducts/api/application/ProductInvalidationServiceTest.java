@@ -0,0 +1,147 @@
+package com.inditex.similarproducts.api.application;
+
+import com.inditex.similarproducts.api.domain.Product;
+import com.inditex.similarproducts.api.domain.ProductChangedEvent;
+import com.inditex.similarproducts.api.infrastructure.cache.CompactProductListCache;
+import com.inditex.similarproducts.api.infrastructure.cache.ProductListIndex;
+import com.inditex.similarproducts.api.infrastructure.cache.ProductTable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.support.SimpleCacheManager;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductInvalidationServiceTest {
+
+    private Cache cache;
+    private ProductTable productTable;
+    private ProductListIndex productListIndex;
+    private ProductInvalidationService invalidationService;
+
+    @BeforeEach
+    void setUp() {
+        productTable = new ProductTable();
+        productListIndex = new ProductListIndex();
+        cache = new CompactProductListCache(new ConcurrentMapCache("productDetail"), productTable, productListIndex);
+
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(cache));
+        cacheManager.initializeCaches();
+
+        invalidationService = new ProductInvalidationService(productTable, productListIndex, cacheManager,
+                                                             new SimpleMeterRegistry());
+
+        // listas cacheadas según el mock: 1 → [2,3,4], 4 → [1,2], 3 → [100,1000]
+        cache.put("1", List.of(product("2", 19.99), product("3", 29.99), product("4", 39.99)));
+        cache.put("4", List.of(product("1", 9.99), product("2", 19.99)));
+        cache.put("3", List.of(product("100", 49.99), product("1000", 89.99)));
+    }
+
+    @Test
+    void shouldPatchPriceInEveryCachedListWithoutEvicting() {
+        // GIVEN: el producto "2" cambia de precio
+        ProductChangedEvent event = new ProductChangedEvent("2", ProductChangedEvent.ChangeType.UPDATED,
+                                                            null, 17.99, null);
+
+        // WHEN
+        invalidationService.onProductChanged(event);
+
+        // THEN: las listas 1 y 4 siguen en caché y ya muestran el precio nuevo
+        assertThat(cached("1")).filteredOn(p -> p.id().equals("2")).extracting(Product::price).containsExactly(17.99);
+        assertThat(cached("4")).filteredOn(p -> p.id().equals("2")).extracting(Product::price).containsExactly(17.99);
+        assertThat(cached("4")).filteredOn(p -> p.id().equals("2")).extracting(Product::name).containsExactly("Product 2");
+    }
+
+    @Test
+    void shouldEvictOnlyListsContainingDeletedProduct() {
+        // GIVEN: el producto "1" se borra del catálogo
+        ProductChangedEvent event = new ProductChangedEvent("1", ProductChangedEvent.ChangeType.DELETED,
+                                                            null, null, null);
+
+        // WHEN
+        invalidationService.onProductChanged(event);
+
+        // THEN: se expulsa la lista 4 (lo contiene) y la propia lista de "1"; la 3 sigue
+        assertThat(cache.get("4")).isNull();
+        assertThat(cache.get("1")).isNull();
+        assertThat(cache.get("3")).isNotNull();
+        assertThat(productListIndex.listsContaining("2")).isEmpty();
+    }
+
+    @Test
+    void shouldEvictAffectedListsWhenUpdateCarriesNoData() {
+        // GIVEN: aviso de cambio sin datos para "1000"
+        ProductChangedEvent event = new ProductChangedEvent("1000", ProductChangedEvent.ChangeType.UPDATED,
+                                                            null, null, null);
+
+        // WHEN
+        invalidationService.onProductChanged(event);
+
+        // THEN
+        assertThat(cache.get("3")).isNull();
+        assertThat(cache.get("1")).isNotNull();
+        assertThat(cache.get("4")).isNotNull();
+    }
+
+    @Test
+    void shouldNotCacheFillThatStartedBeforePatch() {
+        // GIVEN: empieza la carga de "5" (fallo de caché) con el producto "2" a 19.99
+        assertThat(cache.get("5")).isNull();
+        List<Product> loaded = List.of(product("2", 19.99), product("6", 59.99));
+
+        // WHEN: mientras carga llega el nuevo precio de "2" y después termina la carga
+        invalidationService.onProductChanged(new ProductChangedEvent("2", ProductChangedEvent.ChangeType.UPDATED,
+                                                                     null, 17.99, null));
+        cache.put("5", loaded);
+
+        // THEN: la lista vieja no se guarda ni deshace el parche
+        assertThat(cache.get("5")).isNull();
+        assertThat(productListIndex.listsContaining("6")).isEmpty();
+        assertThat(productTable.find("2")).map(Product::price).contains(17.99);
+        assertThat(cached("1")).filteredOn(p -> p.id().equals("2")).extracting(Product::price).containsExactly(17.99);
+    }
+
+    @Test
+    void shouldNotCacheFillThatStartedBeforeEviction() throws InterruptedException {
+        // GIVEN: una carga de "5" en otro hilo, detenida entre el fallo de caché y el put
+        CountDownLatch missed = new CountDownLatch(1);
+        CountDownLatch eventApplied = new CountDownLatch(1);
+        Thread fill = Thread.ofVirtual().start(() -> {
+            assertThat(cache.get("5")).isNull();
+            missed.countDown();
+            try {
+                eventApplied.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            cache.put("5", List.of(product("1000", 89.99)));
+        });
+
+        // WHEN: llega un aviso de cambio de "1000" antes de que la carga termine
+        missed.await();
+        invalidationService.onProductChanged(new ProductChangedEvent("1000", ProductChangedEvent.ChangeType.UPDATED,
+                                                                     null, null, null));
+        eventApplied.countDown();
+        fill.join();
+
+        // THEN: la carga con datos anteriores al evento no se queda en caché
+        assertThat(cache.get("5")).isNull();
+        assertThat(cache.get("3")).isNull();
+        assertThat(productListIndex.listsContaining("1000")).isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Product> cached(String key) {
+        return (List<Product>) cache.get(key).get();
+    }
+
+    private static Product product(String id, double price) {
+        return new Product(id, "Product " + id, price, true);
+    }
+}
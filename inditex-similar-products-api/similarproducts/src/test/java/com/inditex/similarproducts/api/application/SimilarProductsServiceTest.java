@@ -1,19 +1,30 @@
 package com.inditex.similarproducts.api.application;
 
+import com.inditex.similarproducts.api.domain.DownstreamTimeoutException;
 import com.inditex.similarproducts.api.domain.ExternalServiceException;
 import com.inditex.similarproducts.api.domain.Product;
 import com.inditex.similarproducts.api.domain.ProductNotFoundException;
+import com.inditex.similarproducts.api.infrastructure.cache.ProductCacheLookup;
 import com.inditex.similarproducts.api.infrastructure.client.SimulatedProductClient;
+import com.inditex.similarproducts.api.infrastructure.config.FetchProperties;
+import io.micrometer.observation.ObservationRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -22,6 +33,15 @@ class SimilarProductsServiceTest {
     @Mock
     private SimulatedProductClient simulatedProductClient;
 
+    @Spy
+    private ObservationRegistry observationRegistry = ObservationRegistry.create();
+
+    @Mock
+    private ProductCacheLookup productCacheLookup;
+
+    @Spy
+    private FetchProperties fetchProperties = new FetchProperties();
+
     @InjectMocks
     private SimilarProductsService similarProductsService;
 
@@ -134,7 +154,7 @@ class SimilarProductsServiceTest {
     @Test
     void shouldFilterOutTimeoutProductAndReturnOnlyValidOnes_ProductId3() {
         // GIVEN: productId "3" tiene similares ["100","1000","10000"] según el mock real
-        //        "10000" falla por timeout (ExternalServiceException)
+        //        "10000" falla por timeout (DownstreamTimeoutException)
         String productId = "3";
         List<String> similarIds = List.of("100", "1000", "10000");
 
@@ -145,13 +165,13 @@ class SimilarProductsServiceTest {
         when(simulatedProductClient.loadProductDetailForId("100")).thenReturn(product100);
         when(simulatedProductClient.loadProductDetailForId("1000")).thenReturn(product1000);
         when(simulatedProductClient.loadProductDetailForId("10000"))
-                .thenThrow(new ExternalServiceException("Timeout/error calling simulado product 10000"));
+                .thenThrow(new DownstreamTimeoutException("Timeout calling simulado product 10000"));
 
         // WHEN: obtenemos los productos similares
         List<Product> result = similarProductsService.getSimilarProducts(productId);
 
-        // THEN: devuelve solo 100 y 1000 (sin 10000 que da timeout)
-        assertThat(result).hasSize(2);
+        // THEN: devuelve solo 100 y 1000 (sin 10000 que da timeout), marcada como incompleta para no cachearla
+        assertThat(result).isInstanceOf(IncompleteProductList.class).hasSize(2);
         assertThat(result).extracting(Product::id).containsExactlyInAnyOrder("100", "1000");
         assertThat(result).extracting(Product::id).doesNotContain("10000");
 
@@ -160,5 +180,132 @@ class SimilarProductsServiceTest {
         verify(simulatedProductClient).loadProductDetailForId("1000");
         verify(simulatedProductClient).loadProductDetailForId("10000");
     }
-}
 
+    @Test
+    void shouldFetchOnlyLimitPlusSpeculativeMarginWhenPageIsNotCached() {
+        // GIVEN: 10 similares, ninguno en caché y margen especulativo de 2
+        List<String> similarIds = IntStream.rangeClosed(1, 10).mapToObj(String::valueOf).toList();
+        when(simulatedProductClient.loadSimilarProductIds("0")).thenReturn(similarIds);
+        when(simulatedProductClient.loadProductDetailForId(anyString()))
+                .thenAnswer(invocation -> new Product(invocation.getArgument(0), "Item", 9.99, true));
+
+        // WHEN: se piden los 2 primeros
+        List<Product> result = similarProductsService.getSimilarProducts("0", 0, 2);
+
+        // THEN: devuelve los 2 primeros en orden y como mucho se han pedido 2 + 2 detalles
+        // (el margen especulativo se cancela en cuanto la página está completa y puede no llegar a salir)
+        assertThat(result).extracting(Product::id).containsExactly("1", "2");
+        verify(simulatedProductClient, atMost(4)).loadProductDetailForId(anyString());
+        IntStream.rangeClosed(5, 10).mapToObj(String::valueOf)
+                 .forEach(id -> verify(simulatedProductClient, never()).loadProductDetailForId(id));
+    }
+
+    @Test
+    void shouldFetchNextIdWhenOneOfThePageFails() {
+        // GIVEN: sin margen especulativo y el segundo similar da 404
+        fetchProperties.setSpeculativeMargin(0);
+        when(simulatedProductClient.loadSimilarProductIds("0")).thenReturn(List.of("1", "2", "3", "4"));
+        when(simulatedProductClient.loadProductDetailForId(anyString()))
+                .thenAnswer(invocation -> new Product(invocation.getArgument(0), "Item", 9.99, true));
+        when(simulatedProductClient.loadProductDetailForId("2")).thenThrow(new ProductNotFoundException("2"));
+
+        // WHEN: se piden los 2 primeros
+        List<Product> result = similarProductsService.getSimilarProducts("0", 0, 2);
+
+        // THEN: el hueco se cubre con el siguiente id, manteniendo el orden de similitud
+        assertThat(result).extracting(Product::id).containsExactly("1", "3");
+        verify(simulatedProductClient, never()).loadProductDetailForId("4");
+    }
+
+    @Test
+    void shouldServeAnyPageFromCachedFullList() {
+        // GIVEN: la lista completa ya está en caché
+        List<Product> cached = List.of(new Product("2", "Dress", 19.99, true),
+                                       new Product("3", "Blazer", 29.99, false),
+                                       new Product("4", "Boots", 39.99, true));
+        when(productCacheLookup.get("1")).thenReturn(Optional.of(cached));
+
+        // WHEN: se pide la segunda página de tamaño 2
+        List<Product> result = similarProductsService.getSimilarProducts("1", 2, 2);
+
+        // THEN: se recorta la lista cacheada sin llamar al mock
+        assertThat(result).extracting(Product::id).containsExactly("4");
+        verifyNoInteractions(simulatedProductClient);
+    }
+
+    @Test
+    void shouldCacheFullListWhenPageRequiredEveryId() {
+        // GIVEN: 3 similares, ninguno en caché y el tercero da 404
+        when(simulatedProductClient.loadSimilarProductIds("0")).thenReturn(List.of("1", "2", "3"));
+        when(simulatedProductClient.loadProductDetailForId(anyString()))
+                .thenAnswer(invocation -> new Product(invocation.getArgument(0), "Item", 9.99, true));
+        when(simulatedProductClient.loadProductDetailForId("3")).thenThrow(new ProductNotFoundException("3"));
+
+        // WHEN: la página abarca todos los ids
+        List<Product> result = similarProductsService.getSimilarProducts("0", 0, 5);
+
+        // THEN: se devuelve y se cachea la lista completa, igual que sin limit
+        assertThat(result).extracting(Product::id).containsExactly("1", "2");
+        verify(productCacheLookup).put("0", result);
+    }
+
+    @Test
+    void shouldNotCachePartialPage() {
+        // GIVEN: 10 similares, ninguno en caché
+        List<String> similarIds = IntStream.rangeClosed(1, 10).mapToObj(String::valueOf).toList();
+        when(simulatedProductClient.loadSimilarProductIds("0")).thenReturn(similarIds);
+        when(simulatedProductClient.loadProductDetailForId(anyString()))
+                .thenAnswer(invocation -> new Product(invocation.getArgument(0), "Item", 9.99, true));
+
+        // WHEN: se pide una página que no los cubre todos
+        similarProductsService.getSimilarProducts("0", 0, 2);
+
+        // THEN: no se cachea
+        verify(productCacheLookup, never()).put(anyString(), anyList());
+    }
+
+    @Test
+    void shouldCancelSpeculativeFetchesOnceThePageIsComplete() throws InterruptedException {
+        // GIVEN: el id especulativo "2" ya está en vuelo y se queda colgado hasta que lo interrumpan
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(simulatedProductClient.loadSimilarProductIds("0")).thenReturn(List.of("1", "2"));
+        when(simulatedProductClient.loadProductDetailForId("1")).thenAnswer(invocation -> {
+            started.await(5, TimeUnit.SECONDS);
+            return new Product("1", "Item", 9.99, true);
+        });
+        when(simulatedProductClient.loadProductDetailForId("2")).thenAnswer(invocation -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return null;
+        });
+
+        // WHEN: se pide solo el primero
+        List<Product> result = similarProductsService.getSimilarProducts("0", 0, 1);
+
+        // THEN: se responde sin esperar al especulativo, que se cancela
+        assertThat(result).extracting(Product::id).containsExactly("1");
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        verify(productCacheLookup, never()).put(anyString(), anyList());
+    }
+
+    @Test
+    void shouldNotCachePageWhenAProductTimedOut() {
+        // GIVEN: la página abarca todos los ids y uno agota el timeout
+        when(simulatedProductClient.loadSimilarProductIds("0")).thenReturn(List.of("1", "2"));
+        when(simulatedProductClient.loadProductDetailForId("1")).thenReturn(new Product("1", "Item", 9.99, true));
+        when(simulatedProductClient.loadProductDetailForId("2"))
+                .thenThrow(new DownstreamTimeoutException("Timeout calling simulado product 2"));
+
+        // WHEN
+        List<Product> result = similarProductsService.getSimilarProducts("0", 0, 5);
+
+        // THEN: se sirve sin el producto lento, pero no se cachea como lista completa
+        assertThat(result).extracting(Product::id).containsExactly("1");
+        verify(productCacheLookup, never()).put(anyString(), anyList());
+    }
+}
@@ -0,0 +1,96 @@
+package com.inditex.similarproducts.api.benchmark;
+
+import com.inditex.similarproducts.api.domain.Product;
+import com.inditex.similarproducts.api.infrastructure.cache.CompactProductList;
+import com.inditex.similarproducts.api.infrastructure.cache.ProductTable;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+/**
+ * Huella en heap de 100k listas cacheadas: {@code List<Product>} tal cual sale del cliente
+ * frente a {@link CompactProductList} sobre una {@link ProductTable} compartida.
+ *
+ * Ejecutar con:
+ * <pre>
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.inditex.similarproducts.api.benchmark.CacheFootprintBenchmark
+ * </pre>
+ */
+public class CacheFootprintBenchmark {
+
+    private static final int LISTS = 100_000;
+    private static final int CATALOG_SIZE = 20_000;
+    private static final int MIN_ITEMS = 5;
+    private static final int MAX_ITEMS = 30;
+
+    private static volatile Object retained;
+
+    public static void main(String[] args) {
+        long plain = measure(lists -> lists);
+
+        ProductTable table = new ProductTable();
+        long compact = measure(lists -> {
+            List<List<Product>> compacted = new ArrayList<>(lists.size());
+            for (List<Product> list : lists) {
+                compacted.add(CompactProductList.of(table, list));
+            }
+            return List.of(compacted, table);
+        });
+
+        System.out.printf("lists=%d catalog=%d items/list=%d-%d%n", LISTS, CATALOG_SIZE, MIN_ITEMS, MAX_ITEMS);
+        System.out.printf("List<Product>       : %,d bytes (%,.1f MB)%n", plain, plain / 1_048_576.0);
+        System.out.printf("CompactProductList  : %,d bytes (%,.1f MB)%n", compact, compact / 1_048_576.0);
+        System.out.printf("reduction           : %.1fx%n", (double) plain / compact);
+    }
+
+    private static long measure(Function<List<List<Product>>, Object> layout) {
+        long before = usedHeap();
+        retained = layout.apply(generate());
+        long after = usedHeap();
+        retained = null;
+        return after - before;
+    }
+
+    /**
+     * Cada lista trae instancias propias de String y Double, igual que al deserializar el JSON del mock.
+     */
+    private static List<List<Product>> generate() {
+        SplittableRandom random = new SplittableRandom(42);
+        List<List<Product>> lists = new ArrayList<>(LISTS);
+        for (int i = 0; i < LISTS; i++) {
+            int items = random.nextInt(MIN_ITEMS, MAX_ITEMS + 1);
+            List<Product> products = new ArrayList<>(items);
+            for (int j = 0; j < items; j++) {
+                int id = popular(random);
+                products.add(new Product(new String(String.valueOf(id)),
+                                         new String("Product " + id),
+                                         Double.valueOf(id + 0.99),
+                                         id % 3 != 0));
+            }
+            lists.add(products);
+        }
+        return lists;
+    }
+
+    private static int popular(SplittableRandom random) {
+        // sesgo hacia productos populares, como en el tráfico real
+        double skew = random.nextDouble();
+        return (int) (CATALOG_SIZE * skew * skew);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
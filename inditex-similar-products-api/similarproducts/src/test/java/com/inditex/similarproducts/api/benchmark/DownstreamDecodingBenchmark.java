@@ -0,0 +1,82 @@
+package com.inditex.similarproducts.api.benchmark;
+
+import com.inditex.similarproducts.api.domain.Product;
+import com.inditex.similarproducts.api.infrastructure.client.SimulatedProductDecoder;
+import lombok.Data;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste por llamada de decodificar las respuestas del mock: databinding a un DTO mutable + mapeo
+ * (el camino anterior, con DTO y mapper replicados aquí) frente a {@link SimulatedProductDecoder}.
+ *
+ * Ejecutar con (gc.alloc.rate.norm = bytes asignados por llamada):
+ * <pre>
+ *   mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *       -Dexec.args="-cp %classpath org.openjdk.jmh.Main DownstreamDecodingBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DownstreamDecodingBenchmark {
+
+    private static final byte[] PRODUCT = """
+            {"id":"10000","name":"Leather jacket","price":89.99,"availability":true}
+            """.getBytes(StandardCharsets.UTF_8);
+    private static final byte[] IDS = """
+            ["100","1000","10000","2","3","4","5","6","7","8"]
+            """.getBytes(StandardCharsets.UTF_8);
+    private static final TypeReference<List<String>> ID_LIST = new TypeReference<>() {
+    };
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final SimulatedProductDecoder decoder = new SimulatedProductDecoder();
+
+    @Benchmark
+    public Product productDatabindAndMap() {
+        LegacyProductDto dto = jsonMapper.readValue(new ByteArrayInputStream(PRODUCT), LegacyProductDto.class);
+        return new Product(dto.getId(), dto.getName(), dto.getPrice(), dto.getAvailability());
+    }
+
+    @Benchmark
+    public Product productStreaming() {
+        return decoder.decodeProduct(new ByteArrayInputStream(PRODUCT));
+    }
+
+    @Benchmark
+    public List<String> idsDatabind() {
+        return jsonMapper.readValue(new ByteArrayInputStream(IDS), ID_LIST);
+    }
+
+    @Benchmark
+    public List<String> idsStreaming() {
+        return decoder.decodeIds(new ByteArrayInputStream(IDS));
+    }
+
+    /** Copia del antiguo {@code SimulatedProductDto}. */
+    @Data
+    public static class LegacyProductDto {
+        private String id;
+        private String name;
+        private Double price;
+        private Boolean availability;
+    }
+}
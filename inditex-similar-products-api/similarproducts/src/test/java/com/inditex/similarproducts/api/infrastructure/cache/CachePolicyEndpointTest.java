@@ -0,0 +1,105 @@
+package com.inditex.similarproducts.api.infrastructure.cache;
+
+import com.inditex.similarproducts.api.domain.Product;
+import com.inditex.similarproducts.api.infrastructure.config.CacheConfig;
+import com.inditex.similarproducts.api.infrastructure.config.CacheSpecProperties;
+import com.inditex.similarproducts.api.infrastructure.config.PeerProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachePolicyEndpointTest {
+
+    private CacheManager cacheManager;
+    private ProductTable productTable;
+    private CachePolicyEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        CacheSpecProperties.CacheSpec spec = new CacheSpecProperties.CacheSpec();
+        spec.setWeigher(CacheWeigher.ESTIMATED_BYTES);
+        spec.setHeapBudget(DataSize.ofKilobytes(64));
+        spec.setExpireAfterWrite(Duration.ofMinutes(5));
+
+        CacheSpecProperties properties = new CacheSpecProperties();
+        properties.getCaches().put("productDetail", spec);
+
+        productTable = new ProductTable();
+        cacheManager = new CacheConfig().cacheManager(properties, productTable, new ProductListIndex(),
+                                                      new SimpleMeterRegistry(),
+                                                      new PeerProperties(), null, null);
+        ((SimpleCacheManager) cacheManager).initializeCaches();
+        endpoint = new CachePolicyEndpoint(cacheManager, properties, productTable);
+    }
+
+    @Test
+    void shouldReportHitRatioAndWeightedSize() {
+        // GIVEN: una lista cacheada, un acierto y un fallo
+        Cache cache = cacheManager.getCache("productDetail");
+        cache.put("1", List.of(new Product("2", "Dress", 19.99, true)));
+        cache.get("1");
+        cache.get("2");
+
+        // WHEN
+        CachePolicyEndpoint.CachePolicyDescriptor descriptor = endpoint.cache("productDetail");
+
+        // THEN
+        assertThat(descriptor.weigher()).isEqualTo(CacheWeigher.ESTIMATED_BYTES);
+        assertThat(descriptor.maximumWeight()).isEqualTo(DataSize.ofKilobytes(64).toBytes());
+        assertThat(descriptor.weightedSize()).isPositive();
+        assertThat(descriptor.hitRatio()).isEqualTo(0.5);
+        assertThat(descriptor.expireAfterWrite()).isEqualTo(Duration.ofMinutes(5));
+    }
+
+    @Test
+    void shouldChargeProductTableToFirstListThatRegistersEachProduct() {
+        // GIVEN: dos listas con el mismo producto
+        Cache cache = cacheManager.getCache("productDetail");
+        cache.put("1", List.of(new Product("2", "Dress", 19.99, true)));
+        long firstList = endpoint.cache("productDetail").weightedSize();
+        cache.put("4", List.of(new Product("2", "Dress", 19.99, true)));
+        long bothLists = endpoint.cache("productDetail").weightedSize();
+
+        // WHEN
+        CachePolicyEndpoint.CachePolicyDescriptor descriptor = endpoint.cache("productDetail");
+
+        // THEN: solo la primera paga el producto en la tabla, y la tabla se informa aparte
+        assertThat(firstList - (bothLists - firstList)).isEqualTo(productTable.estimatedBytes());
+        assertThat(descriptor.productTable().products()).isEqualTo(1);
+        assertThat(descriptor.productTable().estimatedBytes()).isPositive();
+
+        // WHEN: se expulsan ambas listas
+        cache.evict("1");
+        cache.evict("4");
+
+        // THEN: el producto sale de la tabla
+        assertThat(endpoint.cache("productDetail").productTable().products()).isZero();
+        assertThat(productTable.estimatedBytes()).isZero();
+    }
+
+    @Test
+    void shouldUpdateSizeAndTtlAtRuntime() {
+        // WHEN: se ajustan tamaño y TTL en caliente
+        CachePolicyEndpoint.CachePolicyDescriptor descriptor =
+                endpoint.update("productDetail", 1_000L, Duration.ofHours(2));
+
+        // THEN
+        assertThat(descriptor.maximumWeight()).isEqualTo(1_000L);
+        assertThat(descriptor.expireAfterWrite()).isEqualTo(Duration.ofHours(2));
+    }
+
+    @Test
+    void shouldReturnNullForUnknownCache() {
+        assertThat(endpoint.cache("unknown")).isNull();
+        assertThat(endpoint.caches()).containsOnlyKeys("productDetail");
+    }
+}
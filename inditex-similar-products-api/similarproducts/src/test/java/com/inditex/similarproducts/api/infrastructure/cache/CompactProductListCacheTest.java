@@ -0,0 +1,170 @@
+package com.inditex.similarproducts.api.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.inditex.similarproducts.api.domain.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompactProductListCacheTest {
+
+    private ProductTable productTable;
+    private ProductListIndex productListIndex;
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        productTable = new ProductTable();
+        productListIndex = new ProductListIndex();
+        cache = new CompactProductListCache(new ConcurrentMapCache("productDetail"), productTable, productListIndex);
+    }
+
+    @Test
+    void shouldStoreProductListsCompactedAndReturnEqualProducts() {
+        // GIVEN: una lista de productos con precio y disponibilidad nulos incluidos
+        List<Product> products = List.of(
+                new Product("2", "Dress", 19.99, true),
+                new Product("3", "Blazer", 29.99, false),
+                new Product("7", "Scarf", null, null));
+
+        // WHEN: se cachea
+        cache.put("1", products);
+
+        // THEN: se guarda como CompactProductList y se materializa igual
+        assertThat(cache.get("1").get()).isInstanceOf(CompactProductList.class);
+        assertThat(cached("1")).containsExactlyElementsOf(products);
+    }
+
+    @Test
+    void shouldShareCanonicalProductAcrossLists() {
+        // GIVEN: el mismo producto en dos listas, con instancias de String distintas
+        cache.put("1", List.of(new Product(new String("2"), "Dress", 19.99, true)));
+        cache.put("4", List.of(new Product(new String("2"), "Dress", 19.99, true),
+                               new Product("1", "Shirt", 9.99, true)));
+
+        // THEN: ambas listas apuntan al mismo slot y el id es la misma instancia
+        assertThat(cached("1").get(0).id()).isSameAs(cached("4").get(0).id());
+        assertThat(productTable.size()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldExposeLatestDataWhenProductIsReloaded() {
+        // GIVEN: lista cacheada con el producto "2"
+        cache.put("1", List.of(new Product("2", "Dress", 19.99, true)));
+
+        // WHEN: otra lista trae el producto "2" con un precio nuevo
+        cache.put("5", List.of(new Product("2", "Dress", 14.99, false)));
+
+        // THEN: la primera lista también ve el precio actualizado
+        Product product = cached("1").get(0);
+        assertThat(product.price()).isEqualTo(14.99);
+        assertThat(product.availability()).isFalse();
+    }
+
+    @Test
+    void shouldNotOverwriteProductWrittenAfterLoadStarted() {
+        // GIVEN: una carga empieza con el producto "2" a 19.99
+        long loadedAt = productTable.currentStamp();
+
+        // WHEN: otra escritura posterior lo deja a 14.99 y después termina la primera carga
+        productTable.intern(new Product("2", "Dress", 14.99, true));
+        productTable.intern(new Product("2", "Dress", 19.99, true), loadedAt);
+
+        // THEN: se conserva el dato más reciente
+        assertThat(productTable.find("2")).map(Product::price).contains(14.99);
+    }
+
+    @Test
+    void shouldUnregisterReplacedListFromIndex() {
+        // GIVEN: la lista de "1" contiene "2" y "3"
+        cache.put("1", List.of(new Product("2", "Dress", 19.99, true), new Product("3", "Blazer", 29.99, false)));
+
+        // WHEN: se sustituye por otra que ya no contiene "2"
+        cache.put("1", List.of(new Product("3", "Blazer", 29.99, false)));
+
+        // THEN: el índice solo enlaza "1" con "3"
+        assertThat(productListIndex.listsContaining("2")).isEmpty();
+        assertThat(productListIndex.listsContaining("3")).containsExactly("1");
+
+        // WHEN: se expulsa
+        cache.evict("1");
+
+        // THEN
+        assertThat(productListIndex.indexedProducts()).isZero();
+    }
+
+    @Test
+    void shouldFreeAndReuseSlotsOfEvictedLists() {
+        // GIVEN: tabla que reutiliza slots al momento y dos listas que comparten "3"
+        productTable = new ProductTable(Duration.ZERO, System::nanoTime);
+        cache = new CompactProductListCache(new ConcurrentMapCache("productDetail"), productTable, productListIndex);
+        cache.put("1", List.of(new Product("2", "Dress", 19.99, true), new Product("3", "Blazer", 29.99, false)));
+        cache.put("4", List.of(new Product("3", "Blazer", 29.99, false)));
+
+        // WHEN: se expulsa la lista de "1"
+        cache.evict("1");
+
+        // THEN: "2" sale de la tabla; "3" sigue porque lo usa la lista de "4"
+        assertThat(productTable.find("2")).isEmpty();
+        assertThat(productTable.size()).isEqualTo(1);
+        assertThat(productTable.retiredSlots()).isEqualTo(1);
+
+        // WHEN: llega un producto nuevo
+        cache.put("5", List.of(new Product("9", "Belt", 5.99, true)));
+
+        // THEN: ocupa el slot liberado y las demás listas no cambian
+        assertThat(productTable.retiredSlots()).isZero();
+        assertThat(cached("4")).containsExactly(new Product("3", "Blazer", 29.99, false));
+        assertThat(cached("5")).containsExactly(new Product("9", "Belt", 5.99, true));
+    }
+
+    @Test
+    void shouldReleaseSlotsWhenCaffeineEvictsBySize() {
+        // GIVEN: caché Caffeine de una sola entrada con el listener de expulsión
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = Caffeine.newBuilder()
+                .maximumSize(1)
+                .executor(Runnable::run)
+                .evictionListener(CompactProductListCache.evictionListener(productListIndex))
+                .build();
+        cache = new CompactProductListCache(new CaffeineCache("productDetail", nativeCache), productTable,
+                                            productListIndex);
+
+        // WHEN: entra una segunda lista y Caffeine expulsa la primera
+        cache.put("1", List.of(new Product("2", "Dress", 19.99, true)));
+        cache.put("4", List.of(new Product("3", "Blazer", 29.99, false)));
+        nativeCache.cleanUp();
+
+        // THEN: la tabla solo conserva los productos de la lista que queda
+        assertThat(nativeCache.estimatedSize()).isEqualTo(1);
+        assertThat(productTable.size()).isEqualTo(1);
+        assertThat(productListIndex.indexedProducts()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldGrowTableBeyondInitialCapacity() {
+        // GIVEN: más productos que la capacidad inicial de la tabla
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            products.add(new Product(String.valueOf(i), "Product " + i, (double) i, i % 2 == 0));
+        }
+
+        // WHEN
+        cache.put("base", products);
+
+        // THEN
+        assertThat(cached("base")).containsExactlyElementsOf(products);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Product> cached(String key) {
+        return (List<Product>) cache.get(key).get();
+    }
+}
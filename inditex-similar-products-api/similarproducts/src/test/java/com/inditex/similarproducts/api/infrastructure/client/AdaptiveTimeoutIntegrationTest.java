@@ -0,0 +1,110 @@
+package com.inditex.similarproducts.api.infrastructure.client;
+
+import com.inditex.similarproducts.api.SimilarProductsApplication;
+import com.inditex.similarproducts.api.infrastructure.cache.ProductCacheLookup;
+import com.inditex.similarproducts.api.support.StubProductServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Un producto del mock tarda 1,5 s mientras el resto responde al momento: con timeout estático la
+ * lista espera al lento; con timeout adaptativo se corta en cuanto hay historial de latencias.
+ */
+class AdaptiveTimeoutIntegrationTest {
+
+    private StubProductServer stub;
+    private ConfigurableApplicationContext context;
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub = new StubProductServer().delay("/product/4", Duration.ofMillis(1_500));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+        stub.close();
+    }
+
+    @Test
+    void staticTimeoutWaitsForSlowProduct() {
+        // GIVEN: timeout estático de 3 s para los detalles de producto
+        start("static");
+        warmUp();
+
+        // WHEN: pedimos la lista que incluye el producto lento
+        long elapsed = timedGet("/product/1/similar");
+
+        // THEN: la respuesta espera al producto lento
+        assertThat(elapsed).isGreaterThanOrEqualTo(1_400);
+    }
+
+    @Test
+    void adaptiveTimeoutCutsSlowProduct() throws InterruptedException {
+        // GIVEN: timeout adaptativo con historial de llamadas rápidas
+        start("adaptive");
+        warmUp();
+        EndpointTimeoutPolicy policy = context.getBean(DownstreamTimeouts.class).policies().get("product");
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (policy.timeout().compareTo(Duration.ofSeconds(3)) >= 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(policy.timeout()).isEqualTo(Duration.ofMillis(100));
+
+        // WHEN: pedimos la lista que incluye el producto lento
+        long elapsed = timedGet("/product/1/similar");
+
+        // THEN: se corta en el suelo del timeout, la lista recortada no se cachea y la política se ve en
+        // actuator, que solo responde en el puerto de gestión
+        assertThat(elapsed).isLessThan(1_000);
+        assertThat(context.getBean(ProductCacheLookup.class).contains("1")).isFalse();
+        String managementUrl = "http://localhost:" + context.getEnvironment().getProperty("local.management.port");
+        String timeouts = RestClient.create(managementUrl).get().uri("/actuator/timeouts").retrieve().body(String.class);
+        assertThat(timeouts).contains("\"product\"", "ADAPTIVE");
+        Integer onApiPort = RestClient.create(baseUrl).post().uri("/actuator/cachepolicy/productDetail")
+                                      .contentType(MediaType.APPLICATION_JSON).body("{\"maximumWeight\": 0}")
+                                      .exchange((request, response) -> response.getStatusCode().value());
+        assertThat(onApiPort).isEqualTo(404);
+    }
+
+    private void start(String mode) {
+        context = new SpringApplicationBuilder(SimilarProductsApplication.class).run(
+                "--server.port=0",
+                "--management.server.port=0",
+                "--simulado.base-url=" + stub.baseUrl(),
+                "--simulado.timeouts.endpoints.product.mode=" + mode,
+                "--simulado.timeouts.endpoints.product.timeout=3s",
+                "--simulado.timeouts.endpoints.product.floor=100ms",
+                "--simulado.timeouts.endpoints.product.ceiling=3s",
+                "--simulado.timeouts.endpoints.product.window=6s",
+                "--simulado.timeouts.endpoints.product.min-samples=20",
+                "--spring.main.banner-mode=off");
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    }
+
+    private void warmUp() {
+        // páginas sin caché de la lista [1, 2, 6]: todas las llamadas de detalle son rápidas
+        for (int i = 0; i < 10; i++) {
+            RestClient.create(baseUrl).get().uri("/product/5/similar?limit=2").retrieve().toBodilessEntity();
+        }
+    }
+
+    private long timedGet(String uri) {
+        long start = System.nanoTime();
+        RestClient.create(baseUrl).get().uri(uri).retrieve().toBodilessEntity();
+        return Duration.ofNanos(System.nanoTime() - start).toMillis();
+    }
+}
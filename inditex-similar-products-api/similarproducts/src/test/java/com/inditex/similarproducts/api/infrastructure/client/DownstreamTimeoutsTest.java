@@ -0,0 +1,31 @@
+package com.inditex.similarproducts.api.infrastructure.client;
+
+import com.inditex.similarproducts.api.infrastructure.config.SimuladoTimeoutProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DownstreamTimeoutsTest {
+
+    @Test
+    void shouldMatchEndpointsExplicitlyAndFallBackToDefault() {
+        // GIVEN: configuración sin políticas propias
+        SimuladoTimeoutProperties properties = new SimuladoTimeoutProperties();
+        properties.setResponseMs(6000);
+        DownstreamTimeouts timeouts = new DownstreamTimeouts(properties, new SimpleMeterRegistry());
+
+        // WHEN / THEN: solo las rutas del mock usan sus políticas; el resto va a "default"
+        assertThat(policy(timeouts, "http://mock/product/1/similarids")).isEqualTo(DownstreamTimeouts.SIMILAR_IDS);
+        assertThat(policy(timeouts, "http://mock/product/1")).isEqualTo(DownstreamTimeouts.PRODUCT);
+        assertThat(policy(timeouts, "http://mock/health")).isEqualTo(DownstreamTimeouts.DEFAULT);
+        assertThat(policy(timeouts, "http://mock/product/1/reviews")).isEqualTo(DownstreamTimeouts.DEFAULT);
+        assertThat(timeouts.policies()).containsOnlyKeys("similarids", "product", "default");
+    }
+
+    private static String policy(DownstreamTimeouts timeouts, String uri) {
+        return timeouts.policyFor(URI.create(uri)).endpoint();
+    }
+}
@@ -0,0 +1,116 @@
+package com.inditex.similarproducts.api.infrastructure.client;
+
+import com.inditex.similarproducts.api.infrastructure.config.SimuladoTimeoutProperties.EndpointTimeout;
+import com.inditex.similarproducts.api.infrastructure.config.SimuladoTimeoutProperties.Mode;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EndpointTimeoutPolicyTest {
+
+    private static final Duration FALLBACK = Duration.ofSeconds(6);
+
+    @Test
+    void shouldKeepStaticTimeoutRegardlessOfLatency() {
+        // GIVEN: política estática sin timeout propio
+        EndpointTimeoutPolicy policy = new EndpointTimeoutPolicy("product", new EndpointTimeout(), FALLBACK);
+
+        // WHEN: se registran latencias y se rota la ventana
+        recordMillis(policy, 500, 10);
+        policy.roll();
+
+        // THEN: sigue el timeout global, aunque se informa el percentil observado
+        assertThat(policy.timeout()).isEqualTo(FALLBACK);
+        assertThat(policy.describe().observedPercentile()).isNotNull();
+    }
+
+    @Test
+    void shouldUseCeilingUntilEnoughSamples() {
+        // GIVEN: política adaptativa que necesita 100 muestras
+        EndpointTimeoutPolicy policy = new EndpointTimeoutPolicy("product", adaptive(), FALLBACK);
+
+        // WHEN: solo hay 50 muestras en la ventana
+        recordMillis(policy, 10, 50);
+        policy.roll();
+
+        // THEN: se mantiene el techo
+        assertThat(policy.timeout()).isEqualTo(Duration.ofSeconds(2));
+        assertThat(policy.describe().windowSamples()).isEqualTo(50);
+    }
+
+    @Test
+    void shouldDeriveTimeoutFromPercentileTimesMultiplier() {
+        // GIVEN: 200 llamadas de ~100 ms
+        EndpointTimeoutPolicy policy = new EndpointTimeoutPolicy("product", adaptive(), FALLBACK);
+        recordMillis(policy, 100, 200);
+
+        // WHEN: se rota la ventana
+        policy.roll();
+
+        // THEN: timeout ≈ p99 (100 ms) × 1.5
+        assertThat(policy.timeout().toMillis()).isBetween(148L, 153L);
+    }
+
+    @Test
+    void shouldClampToFloorAndCeiling() {
+        // GIVEN: una política con latencias mínimas y otra con latencias enormes
+        EndpointTimeoutPolicy fast = new EndpointTimeoutPolicy("similarids", adaptive(), FALLBACK);
+        EndpointTimeoutPolicy slow = new EndpointTimeoutPolicy("product", adaptive(), FALLBACK);
+        recordMillis(fast, 1, 200);
+        recordMillis(slow, 5_000, 200);
+
+        // WHEN
+        fast.roll();
+        slow.roll();
+
+        // THEN: quedan acotadas a [50 ms, 2 s]
+        assertThat(fast.timeout()).isEqualTo(Duration.ofMillis(50));
+        assertThat(slow.timeout()).isEqualTo(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void shouldForgetSlicesOutsideTheWindow() {
+        // GIVEN: un tramo lento seguido de tramos rápidos
+        EndpointTimeoutPolicy policy = new EndpointTimeoutPolicy("product", adaptive(), FALLBACK);
+        recordMillis(policy, 1_000, 200);
+        policy.roll();
+        assertThat(policy.timeout().toMillis()).isBetween(1_490L, 1_520L);
+
+        // WHEN: la ventana completa se llena con llamadas de ~40 ms
+        for (int i = 0; i < EndpointTimeoutPolicy.WINDOW_SLICES; i++) {
+            recordMillis(policy, 40, 200);
+            policy.roll();
+        }
+
+        // THEN: el tramo lento ya no cuenta
+        assertThat(policy.timeout().toMillis()).isBetween(59L, 62L);
+    }
+
+    @Test
+    void shouldRejectFloorAboveCeiling() {
+        // GIVEN: suelo por encima del techo
+        EndpointTimeout config = adaptive();
+        config.setFloor(Duration.ofSeconds(3));
+
+        // WHEN & THEN
+        assertThatThrownBy(() -> new EndpointTimeoutPolicy("product", config, FALLBACK))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static EndpointTimeout adaptive() {
+        EndpointTimeout config = new EndpointTimeout();
+        config.setMode(Mode.ADAPTIVE);
+        config.setFloor(Duration.ofMillis(50));
+        config.setCeiling(Duration.ofSeconds(2));
+        return config;
+    }
+
+    private static void recordMillis(EndpointTimeoutPolicy policy, long millis, int times) {
+        for (int i = 0; i < times; i++) {
+            policy.record(Duration.ofMillis(millis).toNanos());
+        }
+    }
+}
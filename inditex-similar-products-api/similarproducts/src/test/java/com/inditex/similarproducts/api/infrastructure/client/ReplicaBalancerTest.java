@@ -0,0 +1,157 @@
+package com.inditex.similarproducts.api.infrastructure.client;
+
+import com.inditex.similarproducts.api.infrastructure.client.ReplicaBalancer.Outcome;
+import com.inditex.similarproducts.api.infrastructure.config.SimuladoBalancerProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaBalancerTest {
+
+    private static final long MS = 1_000_000;
+
+    private final AtomicLong clock = new AtomicLong(1_000 * MS);
+    private SimuladoBalancerProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private ReplicaBalancer balancer;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SimuladoBalancerProperties();
+        properties.setConsecutiveFailures(3);
+        properties.setBaseEjection(Duration.ofSeconds(30));
+        meterRegistry = new SimpleMeterRegistry();
+        balancer = new ReplicaBalancer(List.of("http://a:1", "http://b:2", "http://c:3", "http://d:4"),
+                                       properties, meterRegistry, clock::get);
+    }
+
+    @Test
+    void shouldSendMostTrafficToLowLatencyReplicas() {
+        // GIVEN: "d" responde 20 veces más lento que el resto
+        Map<String, Integer> picks = new HashMap<>();
+
+        // WHEN: 2000 llamadas secuenciales
+        for (int i = 0; i < 2_000; i++) {
+            DownstreamReplica replica = balancer.choose();
+            balancer.begin(replica);
+            clock.addAndGet(MS);
+            balancer.complete(replica, replica.baseUri().getHost().equals("d") ? 200 * MS : 10 * MS, Outcome.SUCCESS,
+                              "/product/1");
+            picks.merge(replica.baseUri().getHost(), 1, Integer::sum);
+        }
+
+        // THEN: la réplica lenta apenas recibe tráfico
+        assertThat(picks.getOrDefault("d", 0)).isLessThan(100);
+        assertThat(picks.get("a")).isGreaterThan(400);
+    }
+
+    @Test
+    void shouldPreferReplicaWithFewerRequestsInFlight() {
+        // GIVEN: dos réplicas con la misma latencia, una con 5 peticiones en curso
+        ReplicaBalancer pair = new ReplicaBalancer(List.of("http://a:1", "http://b:2"), properties,
+                                                   meterRegistry, clock::get);
+        DownstreamReplica busy = pair.replicas().getFirst();
+        pair.replicas().forEach(replica -> {
+            pair.begin(replica);
+            pair.complete(replica, 10 * MS, Outcome.SUCCESS, "/product/1");
+        });
+        for (int i = 0; i < 5; i++) {
+            pair.begin(busy);
+        }
+
+        // WHEN / THEN: P2C elige siempre la libre
+        for (int i = 0; i < 20; i++) {
+            assertThat(pair.choose()).isNotSameAs(busy);
+        }
+    }
+
+    @Test
+    void shouldEjectAfterConsecutiveFailuresAndReadmitLater() {
+        // GIVEN: "a" falla 3 veces seguidas con productos distintos
+        DownstreamReplica failing = balancer.replicas().getFirst();
+        for (int i = 0; i < 3; i++) {
+            balancer.begin(failing);
+            balancer.complete(failing, MS, Outcome.FAILURE, "/product/" + i);
+        }
+
+        // THEN: sale del reparto durante la expulsión
+        assertThat(failing.isEjected(clock.get())).isTrue();
+        for (int i = 0; i < 200; i++) {
+            assertThat(balancer.choose()).isNotSameAs(failing);
+        }
+
+        // WHEN: pasa el tiempo de expulsión
+        clock.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        // THEN: vuelve a prueba y un solo fallo más la expulsa el doble de tiempo
+        assertThat(failing.isEjected(clock.get())).isFalse();
+        balancer.begin(failing);
+        balancer.complete(failing, MS, Outcome.FAILURE, "/product/1");
+        clock.addAndGet(Duration.ofSeconds(31).toNanos());
+        assertThat(failing.isEjected(clock.get())).isTrue();
+        assertThat(meterRegistry.counter("similar.downstream.replica.ejections", "replica", "http://a:1").count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void shouldNeverEjectMoreThanMaxPercent() {
+        // WHEN: todas las réplicas fallan repetidamente
+        balancer.replicas().forEach(replica -> {
+            for (int i = 0; i < 3; i++) {
+                balancer.begin(replica);
+                balancer.complete(replica, MS, Outcome.FAILURE, "/product/" + i);
+            }
+        });
+
+        // THEN: como mucho la mitad queda fuera
+        assertThat(balancer.replicas().stream().filter(replica -> replica.isEjected(clock.get())).count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotEjectWhenOnlyOneProductFails() {
+        // GIVEN: "a" falla muchas veces, pero siempre con el mismo producto
+        DownstreamReplica replica = balancer.replicas().getFirst();
+        for (int i = 0; i < 10; i++) {
+            balancer.begin(replica);
+            balancer.complete(replica, MS, Outcome.FAILURE, "/product/6");
+        }
+
+        // THEN: el problema es del producto, no de la réplica
+        assertThat(replica.isEjected(clock.get())).isFalse();
+    }
+
+    @Test
+    void shouldIgnoreNeutralCallsAndPenaliseFailures() {
+        // GIVEN: "a" ha medido 10 ms
+        DownstreamReplica replica = balancer.replicas().getFirst();
+        balancer.begin(replica);
+        balancer.complete(replica, 10 * MS, Outcome.SUCCESS, "/product/1");
+
+        // WHEN: varios timeouts neutrales con productos distintos
+        for (int i = 0; i < 5; i++) {
+            balancer.begin(replica);
+            balancer.complete(replica, 3_000 * MS, Outcome.NEUTRAL, "/product/" + i);
+        }
+
+        // THEN: ni cambian la latencia ni expulsan
+        assertThat(replica.ewmaMillis()).isEqualTo(10.0);
+        assertThat(replica.isEjected(clock.get())).isFalse();
+        assertThat(replica.inFlight()).isZero();
+
+        // WHEN: un fallo con la penalización del timeout
+        balancer.begin(replica);
+        balancer.complete(replica, 3_000 * MS, Outcome.FAILURE, "/product/1");
+
+        // THEN: la réplica pasa a parecer lenta
+        assertThat(replica.ewmaMillis()).isEqualTo(3_000.0);
+    }
+}
@@ -0,0 +1,64 @@
+package com.inditex.similarproducts.api.infrastructure.client;
+
+import com.inditex.similarproducts.api.SimilarProductsApplication;
+import com.inditex.similarproducts.api.support.StubProductServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tres réplicas locales del mock con distinta latencia detrás de la aplicación.
+ */
+class ReplicaBalancingIntegrationTest {
+
+    private StubProductServer fastA;
+    private StubProductServer fastB;
+    private StubProductServer slow;
+    private ConfigurableApplicationContext context;
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        fastA = new StubProductServer();
+        fastB = new StubProductServer(Duration.ofMillis(5));
+        slow = new StubProductServer(Duration.ofMillis(150));
+        context = new SpringApplicationBuilder(SimilarProductsApplication.class).run(
+                "--server.port=0",
+                "--management.server.port=0",
+                "--simulado.base-url=" + fastA.baseUrl(),
+                "--simulado.balancer.replicas=" + fastA.baseUrl() + "," + fastB.baseUrl() + "," + slow.baseUrl(),
+                "--similar-products.fetch.speculative-margin=0",
+                "--spring.main.banner-mode=off");
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+        Stream.of(fastA, fastB, slow).forEach(StubProductServer::close);
+    }
+
+    @Test
+    void shouldSteerTrafficAwayFromSlowReplica() {
+        // WHEN: 30 páginas parciales sin margen especulativo (no se cachean ni se cancela nada: todo va al mock)
+        for (int i = 0; i < 30; i++) {
+            RestClient.create(baseUrl).get().uri("/product/1/similar?limit=2").retrieve().toBodilessEntity();
+        }
+
+        // THEN: la réplica lenta recibe una fracción mínima de las llamadas
+        int total = fastA.totalHits() + fastB.totalHits() + slow.totalHits();
+        assertThat(total).isGreaterThanOrEqualTo(30 * 3);
+        assertThat(slow.totalHits()).isLessThan(total / 10);
+        assertThat(fastA.totalHits()).isPositive();
+        assertThat(fastB.totalHits()).isPositive();
+    }
+}
@@ -0,0 +1,71 @@
+package com.inditex.similarproducts.api.infrastructure.client;
+
+import com.inditex.similarproducts.api.infrastructure.config.SimuladoBalancerProperties;
+import com.inditex.similarproducts.api.infrastructure.config.SimuladoTimeoutProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaBalancingInterceptorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Map<String, Integer> hits = new HashMap<>();
+    private String lastHost;
+
+    // el producto 6 siempre da 500, como en el mock; la réplica "a" responde al momento y "b" tarda 50 ms
+    private final ClientHttpRequestExecution execution = (request, body) -> {
+        lastHost = request.getURI().getHost();
+        hits.merge(lastHost, 1, Integer::sum);
+        if (lastHost.equals("b")) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return new MockClientHttpResponse(new byte[0], request.getURI().getPath().equals("/product/6")
+                ? HttpStatus.INTERNAL_SERVER_ERROR : HttpStatus.OK);
+    };
+
+    @Test
+    void shouldKeepSendingTrafficToReplicaAfterASingleProductFailure() throws IOException {
+        // GIVEN: dos réplicas y un timeout de 6 s para los detalles
+        SimuladoTimeoutProperties timeoutProperties = new SimuladoTimeoutProperties();
+        timeoutProperties.setResponseMs(6000);
+        ReplicaBalancer balancer = new ReplicaBalancer(List.of("http://a:1", "http://b:2"),
+                                                       new SimuladoBalancerProperties(), meterRegistry);
+        ReplicaBalancingInterceptor interceptor = new ReplicaBalancingInterceptor(
+                balancer, new DownstreamTimeouts(timeoutProperties, meterRegistry));
+
+        // WHEN: la réplica rápida devuelve el 500 del producto 6 y después llegan 50 llamadas sanas
+        do {
+            interceptor.intercept(request("/product/6"), new byte[0], execution);
+        } while (!lastHost.equals("a"));
+        hits.clear();
+        for (int i = 0; i < 50; i++) {
+            interceptor.intercept(request("/product/1"), new byte[0], execution);
+        }
+
+        // THEN: el 500 no se ha contado como 6 s de latencia y la réplica rápida sigue llevándose el tráfico
+        DownstreamReplica failed = balancer.replicas().stream()
+                                           .filter(r -> r.baseUri().getHost().equals("a")).findFirst().orElseThrow();
+        assertThat(failed.ewmaMillis()).isLessThan(1_000);
+        assertThat(hits.getOrDefault("a", 0)).isGreaterThan(40);
+    }
+
+    private static MockClientHttpRequest request(String path) {
+        return new MockClientHttpRequest(HttpMethod.GET, URI.create("http://mock" + path));
+    }
+}
@@ -1,25 +1,24 @@
 package com.inditex.similarproducts.api.infrastructure.client;
 
+import com.inditex.similarproducts.api.domain.DownstreamTimeoutException;
 import com.inditex.similarproducts.api.domain.ExternalServiceException;
 import com.inditex.similarproducts.api.domain.Product;
 import com.inditex.similarproducts.api.domain.ProductNotFoundException;
-import com.inditex.similarproducts.api.infrastructure.mapper.ProductMapper;
+import io.micrometer.observation.ObservationRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.web.client.RestClient;
 
+import java.net.SocketTimeoutException;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.when;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
 
@@ -30,9 +29,6 @@ class SimulatedProductClientTest {
 
     private MockRestServiceServer mockServer;
 
-    @Mock
-    private ProductMapper productMapper;
-
     private RestClient restClient;
 
     @BeforeEach
@@ -41,7 +37,7 @@ class SimulatedProductClientTest {
 
         mockServer = MockRestServiceServer.bindTo(builder).build();
         restClient = builder.build();
-        client = new SimulatedProductClient(restClient, productMapper);
+        client = new SimulatedProductClient(restClient, new SimulatedProductDecoder(), ObservationRegistry.NOOP);
     }
 
     @Test
@@ -60,9 +56,6 @@ class SimulatedProductClientTest {
         mockServer.expect(requestTo("http://localhost:3001/product/1"))
                 .andRespond(withSuccess(jsonResponse, MediaType.APPLICATION_JSON));
 
-        Product expectedProduct = new Product("1", "Shirt", 9.99, true);
-        when(productMapper.toDomain(any(SimulatedProductDto.class))).thenReturn(expectedProduct);
-
         // WHEN: llamamos al cliente
         Product result = client.loadProductDetailForId(productId);
 
@@ -114,6 +107,35 @@ class SimulatedProductClientTest {
         mockServer.verify();
     }
 
+    @Test
+    void shouldThrowDownstreamTimeoutExceptionWhenResponseTimesOut() {
+        // GIVEN: la llamada al producto "1" agota el timeout de lectura
+        mockServer.expect(requestTo("http://localhost:3001/product/1"))
+                .andRespond(withException(new SocketTimeoutException("Read timed out")));
+
+        // WHEN & THEN: se distingue del resto de errores para no cachear la lista
+        assertThatThrownBy(() -> client.loadProductDetailForId("1"))
+                .isInstanceOf(DownstreamTimeoutException.class)
+                .hasMessageContaining("1");
+
+        mockServer.verify();
+    }
+
+    @Test
+    void shouldThrowExternalServiceExceptionWhenPriceIsMalformed() {
+        // GIVEN: el mock responde 200 pero con el precio como texto
+        mockServer.expect(requestTo("http://localhost:3001/product/1"))
+                .andRespond(withSuccess("{\"id\": \"1\", \"name\": \"Shirt\", \"price\": \"9.99\"}",
+                                        MediaType.APPLICATION_JSON));
+
+        // WHEN & THEN: se trata igual que un fallo del mock
+        assertThatThrownBy(() -> client.loadProductDetailForId("1"))
+                .isInstanceOf(ExternalServiceException.class)
+                .hasMessageContaining("1");
+
+        mockServer.verify();
+    }
+
     @Test
     void shouldLoadSimilarIdsCorrectlyWhen200_OK() {
         // GIVEN: el mock responde 200 con lista de IDs para producto "2"
@@ -0,0 +1,82 @@
+package com.inditex.similarproducts.api.infrastructure.client;
+
+import com.inditex.similarproducts.api.domain.Product;
+import org.junit.jupiter.api.Test;
+import tools.jackson.core.JacksonException;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SimulatedProductDecoderTest {
+
+    private final SimulatedProductDecoder decoder = new SimulatedProductDecoder();
+
+    @Test
+    void shouldDecodeProductIgnoringUnknownFields() {
+        // GIVEN: id numérico, un campo desconocido anidado, precio entero y availability nula
+        String json = """
+                {"id": 7, "extra": {"nested": [1, 2]}, "name": "Coat", "price": 89, "availability": null}
+                """;
+
+        // WHEN / THEN
+        assertThat(decoder.decodeProduct(body(json))).isEqualTo(new Product("7", "Coat", 89.0, null));
+        assertThat(decoder.decodeProduct(body("{\"id\": \"1\", \"price\": 9.99, \"availability\": false}")))
+                .isEqualTo(new Product("1", null, 9.99, false));
+    }
+
+    @Test
+    void shouldRejectMalformedPriceAndAvailability() {
+        // GIVEN / WHEN / THEN: ni texto ni otros tipos se convierten en silencio
+        assertThatThrownBy(() -> decoder.decodeProduct(body("{\"id\": \"1\", \"price\": \"89.99\"}")))
+                .isInstanceOf(JacksonException.class).hasMessageContaining("price");
+        assertThatThrownBy(() -> decoder.decodeProduct(body("{\"id\": \"1\", \"price\": true}")))
+                .isInstanceOf(JacksonException.class).hasMessageContaining("price");
+        assertThatThrownBy(() -> decoder.decodeProduct(body("{\"id\": \"1\", \"availability\": \"yes\"}")))
+                .isInstanceOf(JacksonException.class).hasMessageContaining("availability");
+        assertThatThrownBy(() -> decoder.decodeProduct(body("{\"id\": \"1\", \"availability\": 1}")))
+                .isInstanceOf(JacksonException.class).hasMessageContaining("availability");
+    }
+
+    @Test
+    void shouldRejectMissingOrNonScalarIdAndName() {
+        // GIVEN / WHEN / THEN: sin id, id nulo u objetos/arrays donde se espera un valor escalar
+        assertThatThrownBy(() -> decoder.decodeProduct(body("{\"name\": \"Coat\", \"price\": 9.99}")))
+                .isInstanceOf(JacksonException.class).hasMessageContaining("product id");
+        assertThatThrownBy(() -> decoder.decodeProduct(body("{\"id\": null, \"name\": \"Coat\"}")))
+                .isInstanceOf(JacksonException.class).hasMessageContaining("product id");
+        assertThatThrownBy(() -> decoder.decodeProduct(body("{\"id\": {\"value\": \"1\"}, \"price\": 9.99}")))
+                .isInstanceOf(JacksonException.class).hasMessageContaining("scalar");
+        assertThatThrownBy(() -> decoder.decodeProduct(body("{\"id\": \"1\", \"name\": [\"Coat\"], \"price\": 9.99}")))
+                .isInstanceOf(JacksonException.class).hasMessageContaining("scalar");
+        assertThatThrownBy(() -> decoder.decodeIds(body("[\"1\", null]")))
+                .isInstanceOf(JacksonException.class).hasMessageContaining("product id");
+    }
+
+    @Test
+    void shouldDecodeIdsIntoCompactList() {
+        // GIVEN: más ids que la capacidad inicial, alguno numérico
+        String json = IntStream.range(0, 20).mapToObj(i -> i % 2 == 0 ? "\"" + i + "\"" : String.valueOf(i))
+                               .collect(Collectors.joining(",", "[", "]"));
+
+        // WHEN / THEN
+        assertThat(decoder.decodeIds(body(json))).hasSize(20).startsWith("0", "1", "2").endsWith("19");
+        assertThat(decoder.decodeIds(body("[]"))).isEmpty();
+    }
+
+    @Test
+    void shouldRejectUnexpectedShapes() {
+        assertThatThrownBy(() -> decoder.decodeProduct(body("[\"1\"]"))).isInstanceOf(JacksonException.class);
+        assertThatThrownBy(() -> decoder.decodeIds(body("[{\"id\":\"1\"}]"))).isInstanceOf(JacksonException.class);
+        assertThatThrownBy(() -> decoder.decodeIds(body(""))).isInstanceOf(JacksonException.class);
+    }
+
+    private static InputStream body(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
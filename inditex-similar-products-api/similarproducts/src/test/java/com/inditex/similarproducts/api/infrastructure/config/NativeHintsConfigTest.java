@@ -0,0 +1,29 @@
+package com.inditex.similarproducts.api.infrastructure.config;
+
+import com.inditex.similarproducts.api.domain.Product;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NativeHintsConfigTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new NativeHintsConfig.SimilarProductsRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void shouldRegisterJsonBindingForRecordsAndSpringdocModel() {
+        assertThat(RuntimeHintsPredicates.reflection().onType(Product.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(OpenAPI.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("META-INF/resources/webjars/swagger-ui/index.html"))
+                .accepts(hints);
+    }
+}
@@ -0,0 +1,97 @@
+package com.inditex.similarproducts.api.infrastructure.diagnostics;
+
+import com.inditex.similarproducts.api.infrastructure.config.JfrDiagnosticsProperties;
+import com.inditex.similarproducts.api.infrastructure.diagnostics.JfrDiagnosticsCollector.VirtualThreadDiagnostics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Con JFR real: un hilo virtual que duerme dentro de un {@code synchronized} queda anclado a su carrier.
+ */
+class JfrDiagnosticsCollectorTest {
+
+    private final Object lock = new Object();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private JfrDiagnosticsCollector collector;
+
+    @AfterEach
+    void tearDown() {
+        collector.close();
+    }
+
+    @Test
+    void shouldAggregatePinnedVirtualThreadsByStack() throws InterruptedException {
+        // GIVEN: colector con umbral de 10 ms
+        JfrDiagnosticsProperties properties = new JfrDiagnosticsProperties();
+        properties.setPinnedThreshold(Duration.ofMillis(10));
+        collector = new JfrDiagnosticsCollector(properties, meterRegistry).start();
+        assertThat(collector.isRecording()).isTrue();
+
+        // WHEN: tres hilos virtuales duermen 50 ms con el monitor tomado
+        for (int i = 0; i < 3; i++) {
+            Thread.ofVirtual().start(this::sleepWhileHoldingMonitor).join();
+        }
+
+        // THEN: aparecen como pinnings con la pila del método que bloquea
+        long deadline = System.currentTimeMillis() + 10_000;
+        VirtualThreadDiagnostics diagnostics = collector.diagnostics();
+        while (diagnostics.pinnedEvents() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+            diagnostics = collector.diagnostics();
+        }
+        assertThat(diagnostics.pinnedEvents()).isEqualTo(3);
+        assertThat(diagnostics.pinnedTotal()).isGreaterThanOrEqualTo(Duration.ofMillis(120));
+        assertThat(diagnostics.topPinnedStacks()).isNotEmpty();
+        assertThat(diagnostics.topPinnedStacks().getFirst().stack().getFirst())
+                .contains("JfrDiagnosticsCollectorTest.sleepWhileHoldingMonitor");
+        assertThat(meterRegistry.get("similar.jfr.vthread.pinned").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldCountVirtualThreadsStartedSinceRecordingAsDelta() throws InterruptedException {
+        // GIVEN: colector con el ciclo de vida de hilos virtuales activado
+        JfrDiagnosticsProperties properties = new JfrDiagnosticsProperties();
+        properties.setTrackVirtualThreadLifecycle(true);
+        collector = new JfrDiagnosticsCollector(properties, meterRegistry).start();
+
+        // WHEN: un hilo virtual sigue vivo mientras otros dos ya han terminado
+        Thread.ofVirtual().start(() -> {}).join();
+        Thread.ofVirtual().start(() -> {}).join();
+        Object parked = new Object();
+        Thread running = Thread.ofVirtual().start(() -> {
+            synchronized (parked) {
+                try {
+                    parked.wait(10_000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+
+        // THEN: el gauge refleja arrancados menos terminados desde la grabación
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (meterRegistry.get("similar.jfr.vthread.live.delta").gauge().value() < 1
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+        assertThat(meterRegistry.get("similar.jfr.vthread.live.delta").gauge().value()).isGreaterThanOrEqualTo(1);
+        assertThat(collector.diagnostics().virtualThreadDelta()).isGreaterThanOrEqualTo(1);
+        running.interrupt();
+        running.join();
+    }
+
+    private void sleepWhileHoldingMonitor() {
+        synchronized (lock) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
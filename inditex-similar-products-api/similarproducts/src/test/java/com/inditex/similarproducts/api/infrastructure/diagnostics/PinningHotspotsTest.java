@@ -0,0 +1,57 @@
+package com.inditex.similarproducts.api.infrastructure.diagnostics;
+
+import com.inditex.similarproducts.api.infrastructure.diagnostics.PinningHotspots.PinningHotspot;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PinningHotspotsTest {
+
+    private static final List<String> HTTP_CLIENT = List.of("org.apache.hc.core5.pool.StrictConnPool.lease:230");
+    private static final List<String> CACHE = List.of("com.example.Cache.get:10");
+    private static final List<String> OTHER = List.of("com.example.Other.run:5");
+
+    @Test
+    void shouldRankStacksByPinnedCount() {
+        // GIVEN: tres pinnings en la pila de HttpClient y uno en la de la caché
+        PinningHotspots hotspots = new PinningHotspots(10);
+        hotspots.record(HTTP_CLIENT, Duration.ofMillis(30).toNanos());
+        hotspots.record(HTTP_CLIENT, Duration.ofMillis(50).toNanos());
+        hotspots.record(HTTP_CLIENT, Duration.ofMillis(20).toNanos());
+        hotspots.record(CACHE, Duration.ofMillis(500).toNanos());
+
+        // WHEN
+        List<PinningHotspot> top = hotspots.top(10);
+
+        // THEN: primero la pila más frecuente, con total y máximo
+        assertThat(top).extracting(PinningHotspot::stack).containsExactly(HTTP_CLIENT, CACHE);
+        assertThat(top.getFirst().count()).isEqualTo(3);
+        assertThat(top.getFirst().total()).isEqualTo(Duration.ofMillis(100));
+        assertThat(top.getFirst().max()).isEqualTo(Duration.ofMillis(50));
+    }
+
+    @Test
+    void shouldCountStacksBeyondLimitAsUntracked() {
+        // GIVEN: límite de una pila
+        PinningHotspots hotspots = new PinningHotspots(1);
+
+        // WHEN: llegan dos pilas distintas
+        hotspots.record(HTTP_CLIENT, 1_000);
+        hotspots.record(OTHER, 1_000);
+        hotspots.record(HTTP_CLIENT, 1_000);
+
+        // THEN: la segunda solo se cuenta
+        assertThat(hotspots.top(10)).singleElement().extracting(PinningHotspot::count).isEqualTo(2L);
+        assertThat(hotspots.untracked()).isEqualTo(1);
+
+        // WHEN: se vacía
+        hotspots.clear();
+
+        // THEN
+        assertThat(hotspots.top(10)).isEmpty();
+        assertThat(hotspots.untracked()).isZero();
+    }
+}
@@ -0,0 +1,57 @@
+package com.inditex.similarproducts.api.infrastructure.peer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConsistentHashRingTest {
+
+    private static final List<String> MEMBERS = List.of("http://pod-a:5000", "http://pod-b:5000", "http://pod-c:5000");
+
+    @Test
+    void shouldChooseSameOwnerRegardlessOfMemberOrder() {
+        // GIVEN: dos pods con la misma lista de miembros en distinto orden
+        ConsistentHashRing ring = new ConsistentHashRing(MEMBERS, 128);
+        ConsistentHashRing reversed = new ConsistentHashRing(MEMBERS.reversed(), 128);
+
+        // THEN: eligen el mismo dueño para cada producto
+        IntStream.range(0, 1_000).mapToObj(String::valueOf)
+                 .forEach(id -> assertThat(ring.ownerOf(id)).isEqualTo(reversed.ownerOf(id)));
+    }
+
+    @Test
+    void shouldSpreadKeysAcrossMembers() {
+        // GIVEN
+        ConsistentHashRing ring = new ConsistentHashRing(MEMBERS, 128);
+
+        // WHEN: se reparten 30k productos
+        Map<String, Long> owners = IntStream.range(0, 30_000).mapToObj(String::valueOf)
+                                            .collect(Collectors.groupingBy(ring::ownerOf, Collectors.counting()));
+
+        // THEN: cada pod recibe una parte razonable (±30% del reparto ideal)
+        assertThat(owners).containsOnlyKeys(MEMBERS);
+        assertThat(owners.values()).allSatisfy(count -> assertThat(count).isBetween(7_000L, 13_000L));
+    }
+
+    @Test
+    void shouldOnlyMoveKeysOfRemovedMember() {
+        // GIVEN: se retira pod-c del anillo
+        ConsistentHashRing full = new ConsistentHashRing(MEMBERS, 128);
+        ConsistentHashRing shrunk = new ConsistentHashRing(MEMBERS.subList(0, 2), 128);
+
+        // THEN: las claves de pod-a y pod-b no cambian de dueño
+        Map<String, String> before = IntStream.range(0, 5_000).mapToObj(String::valueOf)
+                                              .collect(Collectors.toMap(Function.identity(), full::ownerOf));
+        before.forEach((id, owner) -> {
+            if (!owner.equals("http://pod-c:5000")) {
+                assertThat(shrunk.ownerOf(id)).isEqualTo(owner);
+            }
+        });
+    }
+}
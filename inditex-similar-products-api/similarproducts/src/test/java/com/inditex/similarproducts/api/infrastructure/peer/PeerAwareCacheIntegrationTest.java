@@ -0,0 +1,240 @@
+package com.inditex.similarproducts.api.infrastructure.peer;
+
+import com.inditex.similarproducts.api.SimilarProductsApplication;
+import com.inditex.similarproducts.api.domain.Product;
+import com.inditex.similarproducts.api.infrastructure.web.InternalTokenInterceptor;
+import com.inditex.similarproducts.api.support.StubProductServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Dos instancias de la aplicación en localhost compartiendo caché por hash consistente.
+ */
+class PeerAwareCacheIntegrationTest {
+
+    private static final String INTERNAL_TOKEN = "peer-test-token";
+
+    private StubProductServer downstream;
+    private String urlA;
+    private String urlB;
+    private ConfigurableApplicationContext instanceA;
+    private ConfigurableApplicationContext instanceB;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        downstream = new StubProductServer();
+        int portA;
+        int portB;
+        // los puertos cambian el reparto del anillo: se buscan unos en los que cada instancia sea dueña de algún producto
+        do {
+            portA = freePort();
+            portB = freePort();
+            urlA = "http://localhost:" + portA;
+            urlB = "http://localhost:" + portB;
+        } while (!ownsAnyOf(urlA, "1", "2", "4", "5") || !ownsAnyOf(urlB, "1", "2", "4", "5")
+                || !ownsAnyOf(urlB, "1", "5") || !ownsAnyOf(urlB, "90", "91", "92", "93", "94", "95"));
+
+        instanceA = start(portA, urlA);
+        instanceB = start(portB, urlB);
+    }
+
+    @AfterEach
+    void tearDown() {
+        Stream.of(instanceA, instanceB).filter(ConfigurableApplicationContext::isActive)
+              .forEach(ConfigurableApplicationContext::close);
+        downstream.close();
+    }
+
+    @Test
+    void shouldFillFromOwnerOnlyOnceAcrossInstances() {
+        // GIVEN: un producto cuyo dueño es la instancia B
+        String productId = ownedBy(urlB, "1", "2", "4", "5");
+
+        // WHEN: se pide primero a A (no dueño), luego a B y otra vez a A
+        List<Product> fromA = similar(urlA, productId);
+        List<Product> fromB = similar(urlB, productId);
+        List<Product> fromAAgain = similar(urlA, productId);
+
+        // THEN: el mock solo recibe una llamada a similarids y todos ven la misma lista
+        assertThat(downstream.hits("/product/" + productId + "/similarids")).isEqualTo(1);
+        assertThat(fromA).isNotEmpty().isEqualTo(fromB).isEqualTo(fromAAgain);
+    }
+
+    @Test
+    void shouldReportPeerFetchInServerTiming() {
+        // GIVEN: un producto cuyo dueño es B
+        String productId = ownedBy(urlB, "1", "2", "4", "5");
+
+        // WHEN: se pide a A, que se lo pide a B
+        String serverTiming = RestClient.create(urlA).get()
+                                        .uri("/product/{id}/similar", productId)
+                                        .retrieve()
+                                        .toBodilessEntity()
+                                        .getHeaders()
+                                        .getFirst("Server-Timing");
+
+        // THEN: la consulta al dueño aparece como fase propia y la caché suma principal y copia caliente
+        assertThat(serverTiming).contains("peer;dur=", "desc=\"owner\"", "cache;dur=");
+    }
+
+    @Test
+    void shouldNotKeepHotCopyOfIncompleteListFromOwner() {
+        // GIVEN: un producto cuyo dueño es B con un similar (el 2) más lento que el timeout de detalle
+        String productId = ownedBy(urlB, "1", "5");
+        downstream.delay("/product/2", Duration.ofSeconds(1));
+
+        // WHEN: se pide dos veces a A (no dueño)
+        List<Product> first = similar(urlA, productId);
+        List<Product> second = similar(urlA, productId);
+
+        // THEN: ambas llegan sin el 2 y ninguna se sirve de una copia caliente: B vuelve a cargar
+        assertThat(first).extracting(Product::id).doesNotContain("2").isEqualTo(second.stream().map(Product::id).toList());
+        assertThat(downstream.hits("/product/" + productId + "/similarids")).isEqualTo(2);
+    }
+
+    @Test
+    void shouldDegradeToLocalFillWhenOwnerIsDown() {
+        // GIVEN: el dueño (B) está caído
+        String productId = ownedBy(urlB, "1", "2", "4", "5");
+        instanceB.close();
+
+        // WHEN: se pide a A
+        List<Product> products = similar(urlA, productId);
+
+        // THEN: A carga en local y responde igualmente
+        assertThat(products).isNotEmpty();
+        assertThat(downstream.hits("/product/" + productId + "/similarids")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldPassOwnerNotFoundThroughWithoutLocalFill() {
+        // GIVEN: un producto inexistente cuyo dueño es B
+        String productId = ownedBy(urlB, "90", "91", "92", "93", "94", "95");
+
+        // WHEN / THEN: A responde el 404 del dueño sin volver a preguntar al mock
+        assertThatThrownBy(() -> similar(urlA, productId)).isInstanceOf(HttpClientErrorException.NotFound.class);
+        assertThat(downstream.hits("/product/" + productId + "/similarids")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectPeerRequestsForKeysOwnedElsewhere() {
+        // GIVEN: un producto cuyo dueño es A
+        String productId = ownedBy(urlA, "1", "2", "4", "5");
+        RestClient peerB = RestClient.create(urlB);
+
+        // WHEN / THEN: B contesta 421 a la petición reenviada y 400 si falta la cabecera de reenvío
+        Integer forwarded = peerB.get().uri("/internal/peer/similar/{id}", productId)
+                                 .header(PeerClient.FORWARDED_HEADER, "true")
+                                 .header(InternalTokenInterceptor.TOKEN_HEADER, INTERNAL_TOKEN)
+                                 .exchange((request, response) -> response.getStatusCode().value());
+        Integer direct = peerB.get().uri("/internal/peer/similar/{id}", productId)
+                              .header(InternalTokenInterceptor.TOKEN_HEADER, INTERNAL_TOKEN)
+                              .exchange((request, response) -> response.getStatusCode().value());
+        assertThat(forwarded).isEqualTo(421);
+        assertThat(direct).isEqualTo(400);
+        assertThat(downstream.hits("/product/" + productId + "/similarids")).isZero();
+    }
+
+    @Test
+    void shouldRejectInternalCallsWithoutSharedSecret() {
+        // GIVEN: un producto cuyo dueño es B
+        String productId = ownedBy(urlB, "1", "2", "4", "5");
+        RestClient peerB = RestClient.create(urlB);
+
+        // WHEN: se llama a los endpoints internos sin secreto o con uno incorrecto
+        Integer peerWithoutToken = peerB.get().uri("/internal/peer/similar/{id}", productId)
+                                        .header(PeerClient.FORWARDED_HEADER, "true")
+                                        .exchange((request, response) -> response.getStatusCode().value());
+        Integer peerWrongToken = peerB.get().uri("/internal/peer/similar/{id}", productId)
+                                      .header(PeerClient.FORWARDED_HEADER, "true")
+                                      .header(InternalTokenInterceptor.TOKEN_HEADER, "wrong")
+                                      .exchange((request, response) -> response.getStatusCode().value());
+        Integer eventWithoutToken = peerB.post().uri("/internal/events/product-changed")
+                                         .contentType(MediaType.APPLICATION_JSON)
+                                         .body("{\"productId\":\"" + productId + "\",\"type\":\"DELETED\"}")
+                                         .exchange((request, response) -> response.getStatusCode().value());
+
+        // THEN: 401 sin tocar el mock
+        assertThat(peerWithoutToken).isEqualTo(401);
+        assertThat(peerWrongToken).isEqualTo(401);
+        assertThat(eventWithoutToken).isEqualTo(401);
+        assertThat(downstream.hits("/product/" + productId + "/similarids")).isZero();
+    }
+
+    @Test
+    void shouldForwardProductChangesToOwner() throws InterruptedException {
+        // GIVEN: lista de un producto cuyo dueño es B, pedida a través de A (copia caliente en A)
+        String productId = ownedBy(urlB, "1", "2", "4", "5");
+        String changed = similar(urlA, productId).getFirst().id();
+
+        // WHEN: el cambio de uno de sus productos llega solo a A
+        RestClient.create(urlA).post()
+                  .uri("/internal/events/product-changed")
+                  .header(InternalTokenInterceptor.TOKEN_HEADER, INTERNAL_TOKEN)
+                  .contentType(MediaType.APPLICATION_JSON)
+                  .body("{\"productId\":\"" + changed + "\",\"type\":\"UPDATED\"}")
+                  .retrieve()
+                  .toBodilessEntity();
+
+        // THEN: B también expulsa su lista y la siguiente petición al dueño vuelve a cargarla
+        for (int i = 0; i < 50 && downstream.hits("/product/" + productId + "/similarids") < 2; i++) {
+            similar(urlB, productId);
+            Thread.sleep(100);
+        }
+        assertThat(downstream.hits("/product/" + productId + "/similarids")).isEqualTo(2);
+    }
+
+    private ConfigurableApplicationContext start(int port, String self) {
+        return new SpringApplicationBuilder(SimilarProductsApplication.class).run(
+                "--server.port=" + port,
+                "--management.server.port=0",
+                "--simulado.base-url=" + downstream.baseUrl(),
+                "--simulado.timeouts.response-ms=300",
+                "--similar-products.peers.enabled=true",
+                "--similar-products.internal.token=" + INTERNAL_TOKEN,
+                "--similar-products.peers.self=" + self,
+                "--similar-products.peers.members=" + urlA + "," + urlB,
+                "--similar-products.server-timing.enabled=true",
+                "--spring.main.banner-mode=off");
+    }
+
+    private boolean ownsAnyOf(String owner, String... candidates) {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of(urlA, urlB), 128);
+        return Stream.of(candidates).anyMatch(id -> ring.ownerOf(id).equals(owner));
+    }
+
+    private String ownedBy(String owner, String... candidates) {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of(urlA, urlB), 128);
+        return Stream.of(candidates).filter(id -> ring.ownerOf(id).equals(owner)).findFirst()
+                     .orElseThrow(() -> new IllegalStateException("No candidate owned by " + owner));
+    }
+
+    private static List<Product> similar(String baseUrl, String productId) {
+        return RestClient.create(baseUrl).get()
+                         .uri("/product/{id}/similar", productId)
+                         .retrieve()
+                         .body(new ParameterizedTypeReference<List<Product>>() {});
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.inditex.similarproducts.api.infrastructure.web;
+
+import com.inditex.similarproducts.api.application.PredictivePrefetcher;
+import com.inditex.similarproducts.api.application.SimilarProductsService;
+import com.inditex.similarproducts.api.domain.Product;
+import com.inditex.similarproducts.api.infrastructure.cache.ProductCacheLookup;
+import com.inditex.similarproducts.api.infrastructure.config.AdmissionControlProperties;
+import com.inditex.similarproducts.api.infrastructure.config.CompressionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * El interceptor de admisión delante del controlador real, con MockMvc y un limitador de un solo permiso.
+ */
+class AdmissionControlInterceptorTest {
+
+    private final SimilarProductsService service = mock(SimilarProductsService.class);
+    private final ProductCacheLookup productCacheLookup = mock(ProductCacheLookup.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private CoDelAdmissionLimiter limiter;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        AdmissionControlProperties properties = new AdmissionControlProperties();
+        properties.setMaxConcurrency(1);
+        properties.setTargetDelayMs(5);
+        properties.setIntervalMs(20);
+        properties.setRetryAfterSeconds(2);
+        limiter = new CoDelAdmissionLimiter(properties, meterRegistry);
+
+        SimilarProductsResponseEncoder encoder = new SimilarProductsResponseEncoder(
+                JsonMapper.builder().build(), new CompressionProperties(), meterRegistry);
+        SimilarProductsController controller =
+                new SimilarProductsController(service, encoder, mock(PredictivePrefetcher.class));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .addMappedInterceptors(new String[]{"/product/*/similar"},
+                        new AdmissionControlInterceptor(limiter, productCacheLookup, properties, meterRegistry))
+                .setControllerAdvice(new RestExceptionHandler())
+                .build();
+
+        when(service.getSimilarProducts("1")).thenReturn(List.of(new Product("2", "Dress", 19.99, true)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        while (limiter.inFlight() > 0) {
+            limiter.release();
+        }
+    }
+
+    @Test
+    void shouldRejectWith503AndRetryAfterWhenNoPermitIsFree() throws Exception {
+        // GIVEN: el único permiso está ocupado y la lista no está en caché
+        assertThat(limiter.tryAcquire()).isTrue();
+
+        // WHEN / THEN: la petición se descarta con 503 y Retry-After, sin llegar al servicio
+        mockMvc.perform(get("/product/1/similar"))
+               .andExpect(status().isServiceUnavailable())
+               .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"))
+               .andExpect(jsonPath("$.status").value(503));
+        verify(service, never()).getSimilarProducts("1");
+        assertThat(meterRegistry.get("similar.admission.shed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldBypassAdmissionWhenListIsCached() throws Exception {
+        // GIVEN: el único permiso está ocupado pero la lista está en caché
+        assertThat(limiter.tryAcquire()).isTrue();
+        when(productCacheLookup.contains("1")).thenReturn(true);
+
+        // WHEN / THEN: se sirve sin permiso y se cuenta como atajo por caché
+        mockMvc.perform(get("/product/1/similar"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[0].id").value("2"));
+        assertThat(meterRegistry.get("similar.admission.cache.bypass").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("similar.admission.shed").counter().count()).isZero();
+        assertThat(limiter.inFlight()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReleasePermitAfterAdmittedRequest() throws Exception {
+        // WHEN: se admite una petición no cacheada
+        mockMvc.perform(get("/product/1/similar")).andExpect(status().isOk());
+
+        // THEN: al terminar devuelve el permiso
+        assertThat(limiter.inFlight()).isZero();
+    }
+}
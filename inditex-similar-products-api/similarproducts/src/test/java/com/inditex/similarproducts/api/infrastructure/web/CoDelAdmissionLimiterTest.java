@@ -0,0 +1,77 @@
+package com.inditex.similarproducts.api.infrastructure.web;
+
+import com.inditex.similarproducts.api.infrastructure.config.AdmissionControlProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CoDelAdmissionLimiterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private CoDelAdmissionLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        AdmissionControlProperties properties = new AdmissionControlProperties();
+        properties.setMaxConcurrency(2);
+        properties.setTargetDelayMs(5);
+        properties.setIntervalMs(20);
+
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new CoDelAdmissionLimiter(properties, meterRegistry);
+    }
+
+    @Test
+    void shouldAdmitRequestsUpToMaxConcurrency() {
+        // GIVEN: límite de 2 peticiones concurrentes
+        // WHEN: llegan 2 peticiones
+        // THEN: ambas se admiten sin esperar
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.inFlight()).isEqualTo(2);
+        assertThat(meterRegistry.get("similar.admission.shed").counter().count()).isZero();
+    }
+
+    @Test
+    void shouldShedWhenQueueDelayExceedsInterval() {
+        // GIVEN: todos los permisos ocupados
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+
+        // WHEN: llega otra petición y nadie libera permiso
+        boolean admitted = limiter.tryAcquire();
+
+        // THEN: se descarta y se contabiliza
+        assertThat(admitted).isFalse();
+        assertThat(meterRegistry.get("similar.admission.shed").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("similar.admission.queue.delay").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldSwitchToTargetDelayWhenQueueHasNotDrained() throws InterruptedException {
+        // GIVEN: permisos ocupados más de un intervalo sin que la cola se vacíe
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+        Thread.sleep(30);
+
+        // WHEN / THEN: el limitador está en sobrecarga
+        assertThat(limiter.isOverloaded()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void shouldAdmitAgainAfterRelease() {
+        // GIVEN: permisos ocupados
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+
+        // WHEN: se libera un permiso
+        limiter.release();
+
+        // THEN: la siguiente petición se admite
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.inFlight()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,44 @@
+package com.inditex.similarproducts.api.infrastructure.web;
+
+import com.inditex.similarproducts.api.application.PredictivePrefetcher;
+import com.inditex.similarproducts.api.application.SimilarProductsService;
+import com.inditex.similarproducts.api.infrastructure.config.CompressionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import tools.jackson.databind.json.JsonMapper;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Errores de parámetros delante del controlador real, con MockMvc.
+ */
+class RestExceptionHandlerTest {
+
+    private final SimilarProductsService service = mock(SimilarProductsService.class);
+    private final MockMvc mockMvc = MockMvcBuilders
+            .standaloneSetup(new SimilarProductsController(service,
+                    new SimilarProductsResponseEncoder(JsonMapper.builder().build(), new CompressionProperties(),
+                                                       new SimpleMeterRegistry()),
+                    mock(PredictivePrefetcher.class)))
+            .setControllerAdvice(new RestExceptionHandler())
+            .build();
+
+    @Test
+    void shouldReturn400WhenLimitIsNotANumber() throws Exception {
+        // WHEN / THEN: ?limit=abc no llega al servicio y se responde 400 en vez de 500
+        mockMvc.perform(get("/product/1/similar").param("limit", "abc"))
+               .andExpect(status().isBadRequest())
+               .andExpect(jsonPath("$.status").value(400))
+               .andExpect(jsonPath("$.message").value("limit has an invalid value: abc"));
+        verify(service, never()).getSimilarProducts(anyString(), anyInt(), anyInt());
+    }
+}
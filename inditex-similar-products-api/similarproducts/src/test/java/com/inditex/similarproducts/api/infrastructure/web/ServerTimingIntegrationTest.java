@@ -0,0 +1,89 @@
+package com.inditex.similarproducts.api.infrastructure.web;
+
+import com.inditex.similarproducts.api.SimilarProductsApplication;
+import com.inditex.similarproducts.api.support.OtlpCollectorStandIn;
+import com.inditex.similarproducts.api.support.StubProductServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cabecera Server-Timing y exportación de spans a un colector OTLP local.
+ */
+class ServerTimingIntegrationTest {
+
+    private StubProductServer downstream;
+    private OtlpCollectorStandIn collector;
+    private ConfigurableApplicationContext context;
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        downstream = new StubProductServer();
+        collector = new OtlpCollectorStandIn();
+        context = new SpringApplicationBuilder(SimilarProductsApplication.class).run(
+                "--server.port=0",
+                "--management.server.port=0",
+                "--simulado.base-url=" + downstream.baseUrl(),
+                "--similar-products.server-timing.enabled=true",
+                "--management.tracing.sampling.probability=1.0",
+                "--management.opentelemetry.tracing.export.otlp.endpoint=" + collector.tracesEndpoint(),
+                "--spring.main.banner-mode=off");
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (context.isActive()) {
+            context.close();
+        }
+        collector.close();
+        downstream.close();
+    }
+
+    @Test
+    void shouldBreakDownMissAndHitInServerTimingHeader() {
+        // WHEN: se pide dos veces el mismo producto (fallo y acierto de caché)
+        String miss = serverTiming(similar("1"));
+        String hit = serverTiming(similar("1"));
+
+        // THEN: el fallo desglosa la carga y el acierto solo la consulta a caché
+        assertThat(miss).contains("cache;dur=", "desc=\"miss\"", "ids;dur=", "fanout;dur=",
+                                  "slowest;dur=", "serialization;dur=", "total;dur=");
+        assertThat(hit).contains("cache;dur=", "desc=\"hit\"", "serialization;dur=", "total;dur=")
+                       .doesNotContain("ids;dur=", "fanout;dur=");
+    }
+
+    @Test
+    void shouldExportDownstreamSpansWithProductIdAndOutcome() {
+        // GIVEN: una petición que hace fan-out contra el mock
+        similar("1");
+
+        // WHEN: se cierra el contexto (vacía el exportador por lotes)
+        context.close();
+
+        // THEN: el colector recibe un span por llamada al mock con id de producto y resultado
+        assertThat(collector.receivedText())
+                .contains("simulado similarids", "simulado product", "similar.fanout",
+                          "product.id", "outcome", "success");
+    }
+
+    private ResponseEntity<String> similar(String productId) {
+        return RestClient.create(baseUrl).get()
+                         .uri("/product/{id}/similar", productId)
+                         .retrieve()
+                         .toEntity(String.class);
+    }
+
+    private static String serverTiming(ResponseEntity<String> response) {
+        return response.getHeaders().getFirst("Server-Timing");
+    }
+}
@@ -0,0 +1,119 @@
+package com.inditex.similarproducts.api.infrastructure.web;
+
+import com.aayushatharva.brotli4j.decoder.Decoder;
+import com.inditex.similarproducts.api.domain.Product;
+import com.inditex.similarproducts.api.infrastructure.cache.CompactProductList;
+import com.inditex.similarproducts.api.infrastructure.cache.ProductTable;
+import com.inditex.similarproducts.api.infrastructure.config.CompressionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SimilarProductsResponseEncoderTest {
+
+    private ProductTable productTable;
+    private SimilarProductsResponseEncoder encoder;
+    private List<Product> products;
+
+    @BeforeEach
+    void setUp() {
+        productTable = new ProductTable();
+        CompressionProperties properties = new CompressionProperties();
+        properties.setMinResponseSize(DataSize.ofBytes(256));
+        encoder = new SimilarProductsResponseEncoder(JsonMapper.builder().build(), properties, new SimpleMeterRegistry());
+        products = CompactProductList.of(productTable, IntStream.range(0, 50)
+                .mapToObj(i -> new Product(String.valueOf(i), "Product " + i, 9.99 + i, i % 2 == 0))
+                .toList());
+    }
+
+    @Test
+    void shouldProjectOnlyRequestedFields() {
+        // WHEN: se piden solo id y price, sin comprimir
+        var body = encoder.encode(products.subList(0, 1), ProductField.parse("id,price"), ContentCoding.IDENTITY);
+
+        // THEN: el JSON solo lleva esos campos
+        assertThat(new String(body.body(), StandardCharsets.UTF_8)).isEqualTo("[{\"id\":\"0\",\"price\":9.99}]");
+        assertThatThrownBy(() -> ProductField.parse("id,colour")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldCompressAboveThresholdAndRoundTrip() throws IOException {
+        // WHEN: se codifica la lista en gzip, en brotli y una respuesta pequeña
+        var gzip = encoder.encode(products, ProductField.parse(null), ContentCoding.GZIP);
+        var brotli = encoder.encode(products, ProductField.parse(null), ContentCoding.BROTLI);
+        var small = encoder.encode(products.subList(0, 1), ProductField.parse(null), ContentCoding.GZIP);
+        byte[] json = encoder.encode(products, ProductField.parse(null), ContentCoding.IDENTITY).body();
+
+        // THEN: ambas descomprimen al mismo JSON y lo pequeño no se comprime
+        assertThat(gzip.coding()).isEqualTo(ContentCoding.GZIP);
+        assertThat(new GZIPInputStream(new ByteArrayInputStream(gzip.body())).readAllBytes()).isEqualTo(json);
+        assertThat(brotli.coding()).isEqualTo(ContentCoding.BROTLI);
+        assertThat(Decoder.decompress(brotli.body()).getDecompressedData()).isEqualTo(json);
+        assertThat(brotli.body().length).isLessThan(json.length / 3);
+        assertThat(small.coding()).isEqualTo(ContentCoding.IDENTITY);
+    }
+
+    @Test
+    void shouldReusePrecompressedBytesUntilListOrProductsChange() {
+        // GIVEN: la lista ya se ha comprimido una vez
+        var first = encoder.encodeCached("1", products, ProductField.parse(null), ContentCoding.GZIP);
+
+        // WHEN: se vuelve a pedir igual, y después tras cambiar un producto de la tabla
+        var second = encoder.encodeCached("1", products, ProductField.parse(null), ContentCoding.GZIP);
+        productTable.update(new Product("3", "Renamed", 1.0, true));
+        var afterUpdate = encoder.encodeCached("1", products, ProductField.parse(null), ContentCoding.GZIP);
+
+        // THEN: la segunda reutiliza los mismos bytes; tras el cambio se recomprime
+        assertThat(second.body()).isSameAs(first.body());
+        assertThat(afterUpdate.body()).isNotSameAs(first.body()).isNotEqualTo(first.body());
+    }
+
+    @Test
+    void shouldKeepPrecompressedBytesWhenUnrelatedProductChanges() {
+        // GIVEN: la lista ya se ha comprimido una vez y otra lista tiene un producto que no está en ella
+        var first = encoder.encodeCached("1", products, ProductField.parse(null), ContentCoding.GZIP);
+        CompactProductList other = CompactProductList.of(productTable, List.of(new Product("99", "Other", 1.0, true)));
+
+        // WHEN: cambia ese otro producto
+        productTable.update(new Product("99", "Renamed", 2.0, false));
+        var second = encoder.encodeCached("1", products, ProductField.parse(null), ContentCoding.GZIP);
+
+        // THEN: la lista no ha cambiado y se reutilizan sus bytes
+        assertThat(second.body()).isSameAs(first.body());
+        other.release();
+    }
+
+    @Test
+    void shouldNotPrecompressListsThatAreNotCached() {
+        // GIVEN: una lista normal, como la que devuelve el servicio en el primer fallo
+        List<Product> loaded = List.copyOf(products);
+
+        // WHEN: se codifica dos veces
+        var first = encoder.encodeCached("1", loaded, ProductField.parse(null), ContentCoding.GZIP);
+        var second = encoder.encodeCached("1", loaded, ProductField.parse(null), ContentCoding.GZIP);
+
+        // THEN: se comprime cada vez, sin guardar nada
+        assertThat(second.body()).isNotSameAs(first.body()).isEqualTo(first.body());
+    }
+
+    @Test
+    void shouldNegotiateByQualityPreferringBrotli() {
+        assertThat(ContentCoding.negotiate("gzip, deflate, br", true)).isEqualTo(ContentCoding.BROTLI);
+        assertThat(ContentCoding.negotiate("gzip, deflate, br", false)).isEqualTo(ContentCoding.GZIP);
+        assertThat(ContentCoding.negotiate("br;q=0.5, gzip", true)).isEqualTo(ContentCoding.GZIP);
+        assertThat(ContentCoding.negotiate("deflate", true)).isEqualTo(ContentCoding.IDENTITY);
+        assertThat(ContentCoding.negotiate(null, true)).isEqualTo(ContentCoding.IDENTITY);
+    }
+}
@@ -0,0 +1,48 @@
+package com.inditex.similarproducts.api.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Sustituto local de un colector OTLP/HTTP: acepta POST /v1/traces y guarda los payloads protobuf.
+ * Los nombres de span y atributos viajan como UTF-8 dentro del protobuf, así que basta con buscarlos.
+ */
+public class OtlpCollectorStandIn implements AutoCloseable {
+
+    private final HttpServer server;
+    private final List<byte[]> payloads = new CopyOnWriteArrayList<>();
+
+    public OtlpCollectorStandIn() throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.server.createContext("/v1/traces", this::handle);
+        this.server.start();
+    }
+
+    public String tracesEndpoint() {
+        return "http://localhost:" + server.getAddress().getPort() + "/v1/traces";
+    }
+
+    public String receivedText() {
+        StringBuilder text = new StringBuilder();
+        payloads.forEach(payload -> text.append(new String(payload, StandardCharsets.ISO_8859_1)));
+        return text.toString();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        payloads.add(exchange.getRequestBody().readAllBytes());
+        exchange.getResponseHeaders().set("Content-Type", "application/x-protobuf");
+        exchange.sendResponseHeaders(200, -1);
+        exchange.close();
+    }
+}
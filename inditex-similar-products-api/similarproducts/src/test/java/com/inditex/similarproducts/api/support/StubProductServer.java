@@ -0,0 +1,121 @@
+package com.inditex.similarproducts.api.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Mock mínimo del servicio simulado (puerto aleatorio) para tests que necesitan HTTP real.
+ * Responde /product/{id}/similarids y /product/{id} con los datos del mock original.
+ */
+public class StubProductServer implements AutoCloseable {
+
+    private static final Map<String, String> SIMILAR_IDS = Map.of(
+            "1", "[\"2\",\"3\",\"4\"]",
+            "2", "[\"3\",\"100\",\"1000\"]",
+            "3", "[\"100\",\"1000\",\"10000\"]",
+            "4", "[\"1\",\"2\",\"5\"]",
+            "5", "[\"1\",\"2\",\"6\"]");
+
+    private static final Map<String, String> PRODUCTS = Map.of(
+            "1", "{\"id\":\"1\",\"name\":\"Shirt\",\"price\":9.99,\"availability\":true}",
+            "2", "{\"id\":\"2\",\"name\":\"Dress\",\"price\":19.99,\"availability\":true}",
+            "3", "{\"id\":\"3\",\"name\":\"Blazer\",\"price\":29.99,\"availability\":false}",
+            "4", "{\"id\":\"4\",\"name\":\"Boots\",\"price\":39.99,\"availability\":true}",
+            "100", "{\"id\":\"100\",\"name\":\"Trousers\",\"price\":49.99,\"availability\":false}",
+            "1000", "{\"id\":\"1000\",\"name\":\"Coat\",\"price\":89.99,\"availability\":true}",
+            "10000", "{\"id\":\"10000\",\"name\":\"Leather jacket\",\"price\":89.99,\"availability\":true}");
+
+    private final HttpServer server;
+    private final Duration latency;
+    private final Map<String, AtomicInteger> hits = new ConcurrentHashMap<>();
+    private final Map<String, Duration> pathLatencies = new ConcurrentHashMap<>();
+
+    public StubProductServer() throws IOException {
+        this(Duration.ZERO);
+    }
+
+    public StubProductServer(Duration latency) throws IOException {
+        this.latency = latency;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        this.server.createContext("/product/", this::handle);
+        this.server.start();
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Latencia específica para una ruta (p. ej. "/product/4"), en lugar de la común.
+     */
+    public StubProductServer delay(String path, Duration pathLatency) {
+        pathLatencies.put(path, pathLatency);
+        return this;
+    }
+
+    public int hits(String path) {
+        AtomicInteger counter = hits.get(path);
+        return counter != null ? counter.get() : 0;
+    }
+
+    public int totalHits() {
+        return hits.values().stream().mapToInt(AtomicInteger::get).sum();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        hits.computeIfAbsent(path, key -> new AtomicInteger()).incrementAndGet();
+        sleep(pathLatencies.getOrDefault(path, latency));
+
+        String[] parts = path.split("/");
+        String id = parts[2];
+        if (path.endsWith("/similarids")) {
+            respond(exchange, SIMILAR_IDS.get(id));
+        } else if ("6".equals(id)) {
+            exchange.sendResponseHeaders(500, -1);
+            exchange.close();
+        } else {
+            respond(exchange, PRODUCTS.get(id));
+        }
+    }
+
+    private void respond(HttpExchange exchange, String body) throws IOException {
+        if (body == null) {
+            body = "{\"message\":\"Product not found\"}";
+        }
+        int status = body.startsWith("{\"message\"") ? 404 : 200;
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(Duration delay) {
+        if (delay.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}